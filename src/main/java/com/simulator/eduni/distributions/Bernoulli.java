@@ -30,6 +30,16 @@ public class Bernoulli extends Generator implements DiscreteGenerator {
 	set(prob);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param prob The probability of success
+     * @param source The uniform generator the samples are computed from
+     */
+    public Bernoulli(double prob, ContinuousGenerator source) {
+	super(source);
+	set(prob);
+    }
+
     private void set(double prob) throws ParameterException {
 	if ((prob < 0.0) || (prob > 1.0))
 	    throw new ParameterException("Bernouilli: The probability of success must be between 0 and 1.");
@@ -42,6 +52,11 @@ public class Bernoulli extends Generator implements DiscreteGenerator {
      */
     public long sample() { return distrib.bernoulli(prob); }
 
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(long[] out, int off, int len) { distrib.bernoulli(prob, out, off, len); }
+
     public String toString() { return "Bernoulli("+prob+")"; }
 }
 
@@ -8,6 +8,7 @@ package com.simulator.eduni.distributions;
 
 public class ChiSquare extends Generator implements ContinuousGenerator {
     private long deg_freedom;
+    private double d, c; // constants of Marsaglia and Tsang's method for gamma(1, deg_freedom/2)
     
     /**
      * the seed is automatically provided by the <code>SeedGenerator</code>
@@ -34,11 +35,13 @@ public class ChiSquare extends Generator implements ContinuousGenerator {
 	if (deg_freedom <= 0L)
 	    throw new ParameterException("ChiSquare: The degrees of freedom must be a positive integer.");
 	this.deg_freedom = deg_freedom;
+	this.d = Distributions.gammaD(deg_freedom/2.0);
+	this.c = Distributions.gammaC(d);
     }
     
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { return distrib.chisquare(deg_freedom); }
+    public double sample() { return 2.0 * distrib.standardGamma(deg_freedom/2.0, d, c); }
 }
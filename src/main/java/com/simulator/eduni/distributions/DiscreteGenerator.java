@@ -4,4 +4,16 @@ package com.simulator.eduni.distributions;
  */
 public interface DiscreteGenerator extends Seedable {
     long sample(); 
+
+    /**
+     * Fills part of an array with samples, giving the same values as <code>len</code> calls to
+     * <code>sample()</code>.
+     * @param out The array to fill
+     * @param off The index of the first sample
+     * @param len The number of samples
+     */
+    default void sample(long[] out, int off, int len) {
+	for (int i = off, end = off+len; i < end; i++)
+	    out[i] = sample();
+    }
 }
@@ -8,6 +8,14 @@ public class Distributions {
     /** A reference to the internal random generator.
      */
     ContinuousGenerator source;
+
+    /** The algorithm used for normal samples, Box-Muller unless selected otherwise. */
+    private NormalMethod normalMethod = NormalMethod.BOX_MULLER;
+    // second sample of the last pair computed by the polar method
+    private double nextNormal;
+    private boolean hasNextNormal = false;
+    // uniforms drawn in advance by the bulk methods
+    private double[] scratch = new double[0];
     
     /** The seed is automatically provided by a well-spaced <code>SeedGenerator</code>
      */
@@ -19,19 +27,87 @@ public class Distributions {
      */
     public Distributions(ContinuousGenerator gen) { source = gen; }
 
+    /** @return the continuous generator shared to compute the distribution functions */
+    public ContinuousGenerator getSource() { return source; }
+    /** Replaces the continuous generator shared to compute the distribution functions */
+    public void setSource(ContinuousGenerator gen) { source = gen; reset(); }
+
+    /** @return the algorithm used to compute normal samples */
+    public NormalMethod getNormalMethod() { return normalMethod; }
+    /** Selects the algorithm used to compute normal samples by <code>normal</code>, <code>lognormal</code>,
+     * <code>chisquare</code> and <code>tstudent</code> */
+    public void setNormalMethod(NormalMethod method) { normalMethod = method; reset(); }
+
+    /** Drops the values computed in advance, e.g. after the source has been reseeded */
+    void reset() { hasNextNormal = false; }
+
     // discrete distributions
     /** computes a Bernoulli's distribution
      * @return 1 iif <i>sample</i> &le; prob, 0 otherwise; <i>sample</i> is provided by the PRGN
      */
     public long bernoulli(double prob) { return source.sample()<=prob?1:0; }
 
-    /** computes a binomial distribution
-     * @return &sum;(i=0; i&lt;trials-1; bernoulli(prob))
+    /** computes <code>len</code> samples of a Bernoulli's distribution into <code>out</code>, starting at <code>off</code>
+     * @see #bernoulli(double)
+     */
+    public void bernoulli(double prob, long[] out, int off, int len) {
+	double[] u = uniforms(len);
+	for (int i = 0; i < len; i++)
+	    out[off+i] = u[i]<=prob?1:0;
+    }
+
+    /** computes a binomial distribution, the number of successes in trials bernoulli(prob) trials,
+     * by inversion when fewer than 10 successes (or failures) are expected and with H&ouml;rmann's
+     * transformed rejection method BTRS (1993) otherwise, so the expected cost is bounded
      */
     public long binomial(double prob, int trials) {
-	long sum = 0l;
-	for (int i=0; i<trials; i++) sum += bernoulli(prob);
-	return sum;
+	if (prob > 0.5)
+	    return trials - binomial(1.0-prob, trials);
+	if (trials*prob < 10.0)
+	    return binomialInversion(prob, trials);
+	return binomialRejection(prob, trials);
+    }
+
+    // sequential search from 0 through the probabilities P(x) = P(x-1) * (n-x+1)/x * p/q
+    private long binomialInversion(double prob, int trials) {
+	double q = 1.0-prob, s = prob/q, a = (trials+1)*s;
+	for (;;) {
+	    double r = Math.pow(q, trials), u = source.sample();
+	    long x = 0;
+	    while (u > r && x < trials) {
+		u -= r;
+		x++;
+		r *= a/x - s;
+	    }
+	    if (u <= r)
+		return x;
+	    // rounding left u above the total probability: try again
+	}
+    }
+
+    private long binomialRejection(double prob, int trials) {
+	double q = 1.0-prob, spq = Math.sqrt(trials*prob*q);
+	double b = 1.15 + 2.53*spq;
+	double a = -0.0873 + 0.0248*b + 0.01*prob;
+	double c = trials*prob + 0.5;
+	double alpha = (2.83 + 5.1/b)*spq;
+	double vr = 0.92 - 4.2/b;
+	double lpq = Math.log(prob/q);
+	long m = (long)Math.floor((trials+1)*prob);
+	double h = logFactorial(m) + logFactorial(trials-m);
+	for (;;) {
+	    double u = source.sample() - 0.5, v = source.sample();
+	    double us = 0.5 - Math.abs(u);
+	    long k = (long)Math.floor((2.0*a/us + b)*u + c);
+	    if (k < 0 || k > trials)
+		continue;
+	    // inside the box under the hat: accept without the density
+	    if (us >= 0.07 && v <= vr)
+		return k;
+	    v = Math.log(v*alpha/(a/(us*us) + b));
+	    if (v <= h - logFactorial(k) - logFactorial(trials-k) + (k-m)*lpq)
+		return k;
+	}
     }
 
     /** computes a geometric distribution
@@ -41,20 +117,32 @@ public class Distributions {
 	return (long)Math.ceil(Math.log(source.sample()) / Math.log(1.0-prob));
     }
 
-    /** computes a Pascal's distribution
-     * @return &sum;(i=0; i&lt;successes; geometric(prob))
+    /** computes <code>len</code> samples of a geometric distribution into <code>out</code>, starting at <code>off</code>
+     * @see #geometric(double)
+     */
+    public void geometric(double prob, long[] out, int off, int len) {
+	double[] u = uniforms(len);
+	double log = Math.log(1.0-prob);
+	for (int i = 0; i < len; i++)
+	    out[off+i] = (long)Math.ceil(Math.log(u[i]) / log);
+    }
+
+    /** computes a Pascal's distribution, the number of trials up to the given number of successes,
+     * distributed as &sum;(i=0; i&lt;successes; geometric(prob)) but computed in constant expected time:
+     * the failures follow a poisson distribution whose mean is drawn from a gamma distribution
+     * @return successes + poisson(gamma((1-prob)/prob, successes))
      */
     public long pascal(double prob, int successes) {
-	long sum = 0L;
-	for (int i=0; i < successes; i++)
-	    sum += geometric(prob);
-	return sum;
+	return successes + poisson(gamma((1.0-prob)/prob, successes));
     }
 
-    /** computes a poisson distribution
-     * @return the smallest integer x so as &prod;(i=0; i&lt;x; <i>sample</i>) &le; exp(-mean) 
+    /** computes a poisson distribution, multiplying uniforms when the mean is below 10 and with
+     * H&ouml;rmann's transformed rejection method PTRS (1993) otherwise, so the expected cost is bounded
+     * @return the smallest integer x so as &prod;(i=0; i&lt;x; <i>sample</i>) &le; exp(-mean) for small means
      */
     public long poisson(double mean) {
+	if (mean >= 10.0)
+	    return poissonRejection(mean);
 	long x = -1L;
 	double m = Math.exp(-mean), product=1;
 	do {
@@ -63,58 +151,69 @@ public class Distributions {
 	} while(m < product);
 	return x;
     }
+
+    private long poissonRejection(double mean) {
+	double b = 0.931 + 2.53*Math.sqrt(mean);
+	return poissonRejection(mean, Math.log(mean), b, -0.059 + 0.02483*b,
+				Math.log(1.1239 + 1.1328/(b - 3.4)), 0.9277 - 3.6224/(b - 2.0));
+    }
+
+    /** PTRS with the constants computed in advance: loglam = log(mean), b = 0.931 + 2.53 &radic;mean,
+     * a = -0.059 + 0.02483 b, loginvalpha = log(1.1239 + 1.1328/(b-3.4)), vr = 0.9277 - 3.6224/(b-2)
+     */
+    long poissonRejection(double mean, double loglam, double b, double a, double loginvalpha, double vr) {
+	for (;;) {
+	    double u = source.sample() - 0.5, v = source.sample();
+	    double us = 0.5 - Math.abs(u);
+	    long k = (long)Math.floor((2.0*a/us + b)*u + mean + 0.43);
+	    // inside the box under the hat: accept without the density
+	    if (us >= 0.07 && v <= vr)
+		return k;
+	    if (k < 0 || (us < 0.013 && v > us))
+		continue;
+	    if (Math.log(v) + loginvalpha - Math.log(a/(us*us) + b) <= -mean + k*loglam - logFactorial(k))
+		return k;
+	}
+    }
+
+    // log(k!) for small k, filled at class loading
+    private static final double[] LOG_FACTORIAL = new double[16];
+    static {
+	for (int k=1; k<LOG_FACTORIAL.length; k++)
+	    LOG_FACTORIAL[k] = LOG_FACTORIAL[k-1] + Math.log(k);
+    }
+
+    /** computes log(k!), from a table for small k and with Stirling's series otherwise */
+    static double logFactorial(long k) {
+	if (k < LOG_FACTORIAL.length)
+	    return LOG_FACTORIAL[(int)k];
+	double x = k + 1.0, r = 1.0/(x*x);
+	// log Gamma(k+1) = (x-0.5) log x - x + log(2 pi)/2 + 1/(12x) - 1/(360x^3) + 1/(1260x^5)
+	return (x - 0.5)*Math.log(x) - x + 0.9189385332046728 + (1.0/12.0 - r*(1.0/360.0 - r/1260.0))/x;
+    }
     
     // continuous distributions
     private double power(double a) {
 	return Math.pow(source.sample(), 1.0/a);
     }
     
-    /** computes a beta distribution using Cheng's method (1978) when shape_a&gt;1 or shape_b&gt;1
-     * and Berman's method (1970) otherwise
+    /** computes a beta distribution from two gamma samples
+     * @return gamma(1, shape_a) / (gamma(1, shape_a) + gamma(1, shape_b))
      */
     public double beta(double shape_a, double shape_b) {
 	if (shape_a == 1.0)
 	    return 1.0-power(shape_b);
 	if (shape_b == 1.0)
 	    return power(shape_a);
-	
-	if ((shape_a > 1.0) || (shape_b > 1.0)) {
-	    // Cheng's method (1978)
-	    double alpha = shape_a + shape_b;
-	    double min = Math.min(shape_a, shape_b);
-	    double beta;
-	    if (min <= 1.0) beta = 1.0/min;
-	    else
-		beta = Math.sqrt((alpha - 2.0)/(2.0*shape_a*shape_b - alpha));
-	    
-	    double gamma = shape_a + 1.0/shape_b;
-	    double w, el1, el2;
-	    do {
-		double u1 = source.sample(), 
-		    u2 = source.sample(),
-		    u3 = source.sample();
-		double v = beta*Math.log(u1/(1.0-u1));
-		w = alpha*Math.exp(v);
-		el1 = alpha*Math.log(alpha/(beta+w)) + gamma*v - Math.log(4.0);
-		el2 = Math.log(u1*u2*u3);
-	    } while(el1 < el2);
-	    return w/(beta+w);
-	} 
-	
-	// Berman's method (1970)
-	double x, y;
-	do {
-	    x = power(shape_a);
-	    y = power(shape_b);
-	} while((x + y) > 1.0);
+	double x = standardGamma(shape_a), y = standardGamma(shape_b);
 	return x/(x+y);
     }
 
     /** computes a beta prime distribution
-     * @return 1/beta(shape_a, shape_b) - 1
+     * @return gamma(1, shape_a) / gamma(1, shape_b), which is 1/beta(shape_b, shape_a) - 1
      */
     public double betaprime(double shape_a, double shape_b) {
-	return 1.0/beta(shape_a, shape_b) - 1.0;
+	return standardGamma(shape_a) / standardGamma(shape_b);
     }
     
     /** computes a Cauchy's distribution
@@ -124,25 +223,26 @@ public class Distributions {
 	return median + scale/Math.tan(Math.PI*source.sample());
     }
 
-    /** computes a chisquare distribution
-     * @return &sum;(i=0; i&lt;deg_freedom; normal(0,1))
+    /** computes a chisquare distribution, the sum of deg_freedom squared standard normal samples
+     * @return 2 * gamma(1, deg_freedom/2)
      */
     public double chisquare(long deg_freedom) {
-	// use normal2 because sqrt(1)=1
-	double result = 0.0;
-	for (long i=0L; i < deg_freedom; i++)
-	    result += normal2(0.0, 1.0);
-	return result;
+	return 2.0 * standardGamma(deg_freedom/2.0);
     }
     
-    /** computes an Erlang's distribution
-     * @return -scale * log ( &prod;(i=0; i&lt;shape; <i>sample</i>) ); <i>sample</i> is provided by the PRGN
+    /** computes an Erlang's distribution, the sum of shape exponential samples of mean scale,
+     * in constant expected time whatever the shape
+     * @return gamma(scale, shape)
      */
     public double erlang(double scale, double shape) {
-	double product = 1.0;
-	for (int i=0; i<shape; i++)
-	    product *= source.sample();
-	return -scale * Math.log(product);
+	return gamma(scale, shape);
+    }
+
+    /** computes <code>len</code> samples of an Erlang's distribution into <code>out</code>, starting at <code>off</code>
+     * @see #erlang(double, double)
+     */
+    public void erlang(double scale, double shape, double[] out, int off, int len) {
+	gamma(scale, shape, out, off, len);
     }
 
     /** computes a F distribution
@@ -153,26 +253,62 @@ public class Distributions {
 	    / (chisquare(den_deg_freedom)/den_deg_freedom);
     }
 
-    /** computes a gamma distribution
+    /** computes a gamma distribution using Marsaglia and Tsang's method (2000), which needs
+     * about one normal and one uniform sample whatever the shape
+     * @return scale * gamma(1, shape)
      */
     public double gamma(double scale, double shape) {
-	if (shape == Math.floor(shape)) {
-	    // The shape is an integer
-	    double product = 1.0;
-	    for (long i=0L; i < shape; i++)
-	    product *= source.sample();
-	    
-	    return -scale*Math.log(product);
-	} 
-	// not an integer
-	if (shape < 1.0)
-	    return scale * beta(shape, 1.0-shape) * negexp(1.0);
-	
-	// shape >= 1.0
-	double floor = Math.floor(shape);
-	return gamma(scale, floor) + gamma(scale, shape-floor);
+	return scale * standardGamma(shape);
+    }
+
+    /** computes a gamma distribution of scale 1 */
+    double standardGamma(double shape) {
+	double d = gammaD(shape);
+	return standardGamma(shape, d, gammaC(d));
+    }
+
+    /** The constant d of Marsaglia and Tsang's method, for the shape raised to at least 1 */
+    static double gammaD(double shape) {
+	return (shape < 1.0 ? shape + 1.0 : shape) - 1.0/3.0;
+    }
+
+    /** The constant c of Marsaglia and Tsang's method */
+    static double gammaC(double d) {
+	return 1.0/Math.sqrt(9.0*d);
+    }
+
+    /** computes a gamma distribution of scale 1 with the constants d and c computed in advance
+     * by <code>gammaD</code> and <code>gammaC</code>
+     */
+    double standardGamma(double shape, double d, double c) {
+	double x, v, u;
+	for (;;) {
+	    do {
+		// use normal2 because sqrt(1)=1
+		x = normal2(0.0, 1.0);
+		v = 1.0 + c*x;
+	    } while (v <= 0.0);
+	    v = v*v*v;
+	    u = source.sample();
+	    // the squeeze accepts most samples without a logarithm
+	    if (u < 1.0 - 0.0331*(x*x)*(x*x))
+		break;
+	    if (Math.log(u) < 0.5*x*x + d*(1.0 - v + Math.log(v)))
+		break;
+	}
+	// below 1 the shape has been raised by one: gamma(shape) = gamma(shape+1) * sample^(1/shape)
+	return shape < 1.0 ? d*v*power(shape) : d*v;
     }
     
+    /** computes <code>len</code> samples of a gamma distribution into <code>out</code>, starting at <code>off</code>
+     * @see #gamma(double, double)
+     */
+    public void gamma(double scale, double shape, double[] out, int off, int len) {
+	double d = gammaD(shape), c = gammaC(d);
+	for (int i = off, end = off+len; i < end; i++)
+	    out[i] = scale * standardGamma(shape, d, c);
+    }
+
     /** computes an invgamma distribution
      * @return 1.0/gamma(scale, shape)
      */
@@ -209,6 +345,15 @@ public class Distributions {
     public double negexp(double mean) {
 	return -mean * Math.log(source.sample());
     }
+
+    /** computes <code>len</code> samples of a negexp distribution into <code>out</code>, starting at <code>off</code>
+     * @see #negexp(double)
+     */
+    public void negexp(double mean, double[] out, int off, int len) {
+	source.sample(out, off, len);
+	for (int i = off, end = off+len; i < end; i++)
+	    out[i] = -mean * Math.log(out[i]);
+    }
     
     /** computes a normal distribution; <i>sample</i> are provided by the same PRGN
      * @return mean + &radic;(variance) * cos (2&Pi; * <i>sample</i>) * &radic;(-2 * log (<i>sample</i>))
@@ -220,10 +365,108 @@ public class Distributions {
     /** computes a normal distribution; <i>sample</i> are provided by the same PRGN
      * @param std_dev is assumed to be the square root of the variance.
      * @return mean + std_dev * cos (2&Pi; * <i>sample</i>) * &radic;(-2 * log (<i>sample</i>))
+     * with the Box-Muller method, mean + std_dev * normal(0,1) otherwise
+     * @see #setNormalMethod(NormalMethod)
      */
     public double normal2(double mean, double std_dev) {
-	double u1 = source.sample(), u2 = source.sample();
-	return mean + std_dev * Math.cos(2 * Math.PI * u1) * Math.sqrt(-2 * Math.log(u2));
+	switch (normalMethod) {
+	case POLAR:    return mean + std_dev * polar();
+	case ZIGGURAT: return mean + std_dev * ziggurat();
+	default:
+	    double u1 = source.sample(), u2 = source.sample();
+	    return mean + std_dev * Math.cos(2 * Math.PI * u1) * Math.sqrt(-2 * Math.log(u2));
+	}
+    }
+
+    /** computes <code>len</code> samples of a normal distribution into <code>out</code>, starting at <code>off</code>
+     * @see #normal2(double, double)
+     */
+    public void normal2(double mean, double std_dev, double[] out, int off, int len) {
+	if (normalMethod != NormalMethod.BOX_MULLER) {
+	    for (int i = off, end = off+len; i < end; i++)
+		out[i] = normal2(mean, std_dev);
+	    return;
+	}
+	// draw all the uniforms first, in the order the single sample method uses them
+	double[] u = uniforms(2*len);
+	for (int i = 0; i < len; i++)
+	    out[off+i] = mean + std_dev * Math.cos(2 * Math.PI * u[2*i]) * Math.sqrt(-2 * Math.log(u[2*i+1]));
+    }
+
+    // Draws len uniforms into the scratch array, in the order of len calls to source.sample()
+    double[] uniforms(int len) {
+	if (scratch.length < len)
+	    scratch = new double[len];
+	source.sample(scratch, 0, len);
+	return scratch;
+    }
+
+    // Marsaglia's polar method, returning the second sample of each pair on the next call
+    private double polar() {
+	if (hasNextNormal) {
+	    hasNextNormal = false;
+	    return nextNormal;
+	}
+	double u, v, s;
+	do {
+	    u = 2.0*source.sample() - 1.0;
+	    v = 2.0*source.sample() - 1.0;
+	    s = u*u + v*v;
+	} while (s >= 1.0 || s == 0.0);
+	double factor = Math.sqrt(-2.0*Math.log(s)/s);
+	nextNormal = v * factor;
+	hasNextNormal = true;
+	return u * factor;
+    }
+
+    // Ziggurat of 128 layers of equal area V under the normal density, the base layer
+    // including the tail beyond R (J. A. Doornik, "An Improved Ziggurat Method to Generate
+    // Normal Random Samples", 2005). ZIG_X[i] is the right edge of layer i, and ZIG_R[i]
+    // the part of the layer entirely below the density.
+    private static final int ZIG_LAYERS = 128;
+    private static final double ZIG_R = 3.442619855899;
+    private static final double ZIG_V = 9.91256303526217e-3;
+    private static final double[] ZIG_X = new double[ZIG_LAYERS + 1];
+    private static final double[] ZIG_RATIO = new double[ZIG_LAYERS];
+    static {
+	double f = Math.exp(-0.5*ZIG_R*ZIG_R);
+	ZIG_X[0] = ZIG_V/f;
+	ZIG_X[1] = ZIG_R;
+	ZIG_X[ZIG_LAYERS] = 0.0;
+	for (int i=2; i<ZIG_LAYERS; i++) {
+	    ZIG_X[i] = Math.sqrt(-2.0*Math.log(ZIG_V/ZIG_X[i-1] + f));
+	    f = Math.exp(-0.5*ZIG_X[i]*ZIG_X[i]);
+	}
+	for (int i=0; i<ZIG_LAYERS; i++)
+	    ZIG_RATIO[i] = ZIG_X[i+1]/ZIG_X[i];
+    }
+
+    private double ziggurat() {
+	for (;;) {
+	    double u = 2.0*source.sample() - 1.0;
+	    int i = (int)(source.sample()*ZIG_LAYERS);
+	    // inside the rectangle under the next layer: accept at once
+	    if (Math.abs(u) < ZIG_RATIO[i])
+		return u * ZIG_X[i];
+	    if (i == 0)
+		return zigguratTail(u < 0);
+	    // in the wedge between the rectangle and the density
+	    double x = u * ZIG_X[i];
+	    double f0 = Math.exp(-0.5*(ZIG_X[i]*ZIG_X[i] - x*x));
+	    double f1 = Math.exp(-0.5*(ZIG_X[i+1]*ZIG_X[i+1] - x*x));
+	    if (f1 + source.sample()*(f0 - f1) < 1.0)
+		return x;
+	}
+    }
+
+    // Marsaglia's method for the tail beyond ZIG_R
+    private double zigguratTail(boolean negative) {
+	double x, y;
+	do {
+	    x = Math.log(source.sample()) / ZIG_R;
+	    y = Math.log(source.sample());
+	} while (-2.0*y < x*x);
+	return negative ? x - ZIG_R : ZIG_R - x;
     }
 
     /** computes a pareto distribution; <i>sample</i> is provided by the PRGN
@@ -248,11 +491,21 @@ public class Distributions {
 	return (max-min) * source.sample() + min;
     }
 
+    /** computes <code>len</code> samples of a uniform distribution into <code>out</code>, starting at <code>off</code>
+     * @see #uniform(double, double)
+     */
+    public void uniform(double min, double max, double[] out, int off, int len) {
+	source.sample(out, off, len);
+	double range = max-min;
+	for (int i = off, end = off+len; i < end; i++)
+	    out[i] = range * out[i] + min;
+    }
+
     /** computes a weibull distribution; <i>sample</i> is provided by the PRGN
-     * @return scale * (<i>sample</i> ^ (1/shape))
+     * @return scale * ((-ln <i>sample</i>) ^ (1/shape))
      */
     public double weibull(double scale, double shape) {
-	return scale * Math.pow(Math.log(source.sample()), 1/shape);
+	return scale * Math.pow(-Math.log(source.sample()), 1/shape);
     }
 }
 
@@ -0,0 +1,116 @@
+package com.simulator.eduni.distributions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A random number generator based on the empirical distribution of observed data, e.g. measured
+ * service durations. The observations are kept sorted in a single primitive array, and a sample is
+ * the empirical quantile of a uniform sample, interpolated linearly between the neighbouring
+ * order statistics: one uniform sample, one multiplication and one lookup.
+ * The sorted array can be shared by several generators with their own uniform sources,
+ * so that concurrent runs do not copy large data sets.
+ */
+
+public class Empirical extends Generator implements ContinuousGenerator {
+    private final double[] sorted;	// the observations in ascending order, at least two
+    private final int count;		// the number of observations, a single one is stored twice
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param observations The observed values, which are copied
+     */
+    public Empirical(double[] observations) {
+	super();
+	sorted = sort(observations);
+	count = observations.length;
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param observations The observed values, which are copied
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public Empirical(double[] observations, long seed) {
+	super(seed);
+	sorted = sort(observations);
+	count = observations.length;
+    }
+
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param observations The observed values, which are copied
+     * @param source The uniform generator the samples are computed from
+     */
+    public Empirical(double[] observations, ContinuousGenerator source) {
+	super(source);
+	sorted = sort(observations);
+	count = observations.length;
+    }
+
+    /**
+     * Creates a generator sharing the observations of another one, with its own uniform source
+     * @param data The generator whose observations are shared
+     * @param source The uniform generator the samples are computed from
+     */
+    public Empirical(Empirical data, ContinuousGenerator source) {
+	super(source);
+	sorted = data.sorted;
+	count = data.count;
+    }
+
+    /**
+     * Reads observations from a text file, separated by white space, commas or semicolons,
+     * with <code>#</code> comments.
+     * @param file The file to read
+     * @return The observations in file order
+     * @throws IOException if the file cannot be read
+     * @throws ParameterException if an observation is not a number
+     */
+    public static double[] read(Path file) throws IOException {
+	return ObservationReader.readDoubles(file);
+    }
+
+    private static double[] sort(double[] observations) {
+	if (observations.length == 0)
+	    throw new ParameterException("Empirical: At least one observation is needed.");
+	double[] sorted = observations.length == 1 ? new double[] {observations[0], observations[0]}
+	    : observations.clone();
+	for (double x : sorted)
+	    if (Double.isNaN(x) || Double.isInfinite(x))
+		throw new ParameterException("Empirical: The observations must be finite.");
+	Arrays.sort(sorted);
+	return sorted;
+    }
+
+    /**
+     * @return The number of observations the distribution is built from
+     */
+    public int getCount() { return count; }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public double sample() {
+	double position = distrib.source.sample() * (sorted.length - 1);
+	int i = (int)position;
+	return sorted[i] + (position - i)*(sorted[i+1] - sorted[i]);
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+	distrib.source.sample(out, off, len);
+	int last = sorted.length - 1;
+	for (int i = off, end = off+len; i < end; i++) {
+	    double position = out[i] * last;
+	    int j = (int)position;
+	    out[i] = sorted[j] + (position - j)*(sorted[j+1] - sorted[j]);
+	}
+    }
+}
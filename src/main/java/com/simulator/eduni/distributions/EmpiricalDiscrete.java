@@ -0,0 +1,153 @@
+package com.simulator.eduni.distributions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A random number generator based on the empirical distribution of observed integer data, e.g.
+ * counts. Every distinct value is drawn with its observed frequency, using Walker's alias method
+ * with Vose's construction: a sample takes one uniform sample, one multiplication and one
+ * comparison, whatever the number of distinct values. The table holds three primitive arrays
+ * of the size of the number of distinct values, and can be shared by several generators with
+ * their own uniform sources.
+ */
+
+public class EmpiricalDiscrete extends Generator implements DiscreteGenerator {
+    private final long[] values;	// the distinct observed values, ascending
+    private final double[] probability;	// the probability of keeping values[i] in column i
+    private final int[] alias;		// the other value of column i
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param observations The observed values, which are not modified
+     */
+    public EmpiricalDiscrete(long[] observations) {
+	super();
+	values = distinct(observations);
+	probability = new double[values.length];
+	alias = new int[values.length];
+	build(observations);
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param observations The observed values, which are not modified
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public EmpiricalDiscrete(long[] observations, long seed) {
+	super(seed);
+	values = distinct(observations);
+	probability = new double[values.length];
+	alias = new int[values.length];
+	build(observations);
+    }
+
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param observations The observed values, which are not modified
+     * @param source The uniform generator the samples are computed from
+     */
+    public EmpiricalDiscrete(long[] observations, ContinuousGenerator source) {
+	super(source);
+	values = distinct(observations);
+	probability = new double[values.length];
+	alias = new int[values.length];
+	build(observations);
+    }
+
+    /**
+     * Creates a generator sharing the alias table of another one, with its own uniform source
+     * @param data The generator whose table is shared
+     * @param source The uniform generator the samples are computed from
+     */
+    public EmpiricalDiscrete(EmpiricalDiscrete data, ContinuousGenerator source) {
+	super(source);
+	values = data.values;
+	probability = data.probability;
+	alias = data.alias;
+    }
+
+    /**
+     * Reads integer observations from a text file, separated by white space, commas or semicolons,
+     * with <code>#</code> comments.
+     * @param file The file to read
+     * @return The observations in file order
+     * @throws IOException if the file cannot be read
+     * @throws ParameterException if an observation is not an integer
+     */
+    public static long[] read(Path file) throws IOException {
+	return ObservationReader.readLongs(file);
+    }
+
+    private static long[] distinct(long[] observations) {
+	if (observations.length == 0)
+	    throw new ParameterException("EmpiricalDiscrete: At least one observation is needed.");
+	long[] sorted = observations.clone();
+	Arrays.sort(sorted);
+	int count = 1;
+	for (int i = 1; i < sorted.length; i++)
+	    if (sorted[i] != sorted[count-1])
+		sorted[count++] = sorted[i];
+	return Arrays.copyOf(sorted, count);
+    }
+
+    // Vose's alias method: the columns, scaled to an average height of 1, are split into small and
+    // large ones, and each small column is topped up from a large one, which becomes its alias
+    private void build(long[] observations) {
+	int n = values.length;
+	double[] height = probability;
+	for (long x : observations)
+	    height[Arrays.binarySearch(values, x)] += 1.0;
+	double scale = (double)n / observations.length;
+	int[] small = new int[n], large = new int[n];
+	int smalls = 0, larges = 0;
+	for (int i = 0; i < n; i++) {
+	    height[i] *= scale;
+	    if (height[i] < 1.0) small[smalls++] = i;
+	    else large[larges++] = i;
+	}
+	while (smalls > 0 && larges > 0) {
+	    int s = small[--smalls], l = large[larges-1];
+	    alias[s] = l;
+	    height[l] -= 1.0 - height[s];
+	    if (height[l] < 1.0) {
+		larges--;
+		small[smalls++] = l;
+	    }
+	}
+	// the columns left are full up to rounding errors
+	while (larges > 0) height[large[--larges]] = 1.0;
+	while (smalls > 0) height[small[--smalls]] = 1.0;
+    }
+
+    /**
+     * @return The number of distinct observed values
+     */
+    public int getCount() { return values.length; }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public long sample() {
+	double position = distrib.source.sample() * values.length;
+	int i = (int)position;
+	return position - i < probability[i] ? values[i] : values[alias[i]];
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(long[] out, int off, int len) {
+	double[] uniforms = distrib.uniforms(len);
+	int n = values.length;
+	for (int j = 0; j < len; j++) {
+	    double position = uniforms[j] * n;
+	    int i = (int)position;
+	    out[off+j] = position - i < probability[i] ? values[i] : values[alias[i]];
+	}
+    }
+}
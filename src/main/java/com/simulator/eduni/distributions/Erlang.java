@@ -8,6 +8,7 @@ package com.simulator.eduni.distributions;
 
 public class Erlang extends Generator implements ContinuousGenerator {
   private double scale, shape;
+  private double d, c; // constants of Marsaglia and Tsang's gamma method
     
     /**
      * the seed is automatically provided by the <code>SeedGenerator</code>
@@ -33,15 +34,22 @@ public class Erlang extends Generator implements ContinuousGenerator {
     }
     
     private void set(double scale, double shape) {
-	if (scale <= 0.0)
-	    throw new ParameterException("Erlang: The scale parameter must be greater than 0.");
+	if ((scale <= 0.0) || (shape <= 0.0))
+	    throw new ParameterException("Erlang: The scale and shape parameters must be greater than 0.");
 	this.scale = scale;
 	this.shape = shape;
+	this.d = Distributions.gammaD(shape);
+	this.c = Distributions.gammaC(d);
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { return distrib.erlang(shape, scale); }
+    public double sample() { return scale * distrib.standardGamma(shape, d, c); }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) { distrib.erlang(scale, shape, out, off, len); }
 }
@@ -1,13 +1,14 @@
 package com.simulator.eduni.distributions;
 
 /**
- * A random number generator based on the normal distribution.
+ * A random number generator based on the gamma distribution, using Marsaglia and Tsang's method.
  * @version     1.0, 2 October 2002
  * @author      F.Mallet from Costas Simatos's original
  */
 
 public class Gamma extends Generator implements ContinuousGenerator {
     private double scale, shape;
+    private double d, c; // constants of Marsaglia and Tsang's method
     
     /**
      * the seed is automatically provided by the <code>SeedGenerator</code>
@@ -37,11 +38,18 @@ public class Gamma extends Generator implements ContinuousGenerator {
 	    throw new ParameterException("Gamma: The scale and shape parameters must be greater than 0.");
 	this.scale = scale;
 	this.shape = shape;
+	this.d = Distributions.gammaD(shape);
+	this.c = Distributions.gammaC(d);
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { return distrib.gamma(scale, shape); }
+    public double sample() { return scale * distrib.standardGamma(shape, d, c); }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) { distrib.gamma(scale, shape, out, off, len); }
 }
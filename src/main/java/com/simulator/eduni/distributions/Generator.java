@@ -2,15 +2,28 @@ package com.simulator.eduni.distributions;
 
 /**
  * A generic Generator class which delegates its Seedable ability to a <code>Distributions</code> object.
+ * The uniform source of the <code>Distributions</code> object can be replaced, e.g. by a
+ * <code>SplitMixGenerator</code> split from a parent stream.
  */
 public abstract class Generator implements Seedable {
     protected Distributions distrib;
     Generator () { distrib = new Distributions(); }
     Generator (long seed) { distrib = new Distributions(seed); }
+    Generator (ContinuousGenerator source) { distrib = new Distributions(source); }
+
+    /**
+     * @return The uniform generator all samples are computed from
+     */
+    public ContinuousGenerator getSource() { return distrib.getSource(); }
+    /**
+     * Replaces the uniform generator all samples are computed from.
+     * @param source The new uniform generator, e.g. a <code>SplitMixGenerator</code>
+     */
+    public void setSource(ContinuousGenerator source) { distrib.setSource(source); }
     
     // ----- implements Seedable { -----
-    public void setSeed(long seed) { distrib.source.setSeed(seed); }
+    public void setSeed(long seed) { distrib.source.setSeed(seed); distrib.reset(); }
     public long getSeed() { return distrib.source.getSeed(); }
-    public void reseed() { distrib.source.reseed(); }
+    public void reseed() { distrib.source.reseed(); distrib.reset(); }
     // ----- } implements Seedable -----
 }
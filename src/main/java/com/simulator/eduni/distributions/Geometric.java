@@ -1,15 +1,16 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the geometric distribution.
- * automatically generated by the <code>MetaGenerator</code> 
- * @version 1.0, Thu Oct 03 10:27:38 BST 2002
- * @author F.Mallet from C.Simatos's original
- */
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
+  * @author F.Mallet from C.Simatos's original
+  */
 
-public class Geometric extends Generator implements DiscreteGenerator {
+public final class Geometric extends Generator implements DiscreteGenerator {
     private double prob;
+    private double logFailure; // Math.log(1.0-prob)
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param prob The probability of success
      */
     public Geometric(double prob) {
         super();
@@ -19,25 +20,49 @@ public class Geometric extends Generator implements DiscreteGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param prob The probability of success
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
     public Geometric(double prob, long seed) {
-	super(seed);
-	set(prob);
+        super(seed);
+        set(prob);
+    }
+
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param prob The probability of success
+     * @param source The uniform generator the samples are computed from
+     */
+    public Geometric(double prob, ContinuousGenerator source) {
+        super(source);
+        set(prob);
     }
 
     private void set(double prob) {
         if (prob<=0 || prob>=1)
             throw new ParameterException("Geometric: The probability of success must be between 0 and 1.");
         this.prob = prob;
+        this.logFailure = Math.log(1.0-prob);
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public long sample() { 
-         return distrib.geometric(prob);
+    public long sample() {
+        double u = distrib.source.sample();
+        return (long)Math.ceil(Math.log(u) / logFailure);
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(long[] out, int off, int len) {
+        double[] uniforms = distrib.uniforms(len);
+        for (int i = 0; i < len; i++) {
+            double u = uniforms[i];
+            out[off+i] = (long)Math.ceil(Math.log(u) / logFailure);
+        }
     }
 }
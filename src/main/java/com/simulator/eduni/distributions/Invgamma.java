@@ -1,16 +1,19 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the invgamma distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 10:44:05 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Invgamma extends Generator implements ContinuousGenerator {
+public final class Invgamma extends Generator implements ContinuousGenerator {
     private double scale;
     private double shape;
+    private double d; // Distributions.gammaD(shape)
+    private double c; // Distributions.gammaC(d)
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
      */
     public Invgamma(double scale, double shape) {
         super();
@@ -20,26 +23,41 @@ public class Invgamma extends Generator implements ContinuousGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
     public Invgamma(double scale, double shape, long seed) {
-	    super(seed);
-	    set(scale, shape);
+        super(seed);
+        set(scale, shape);
+    }
+
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Invgamma(double scale, double shape, ContinuousGenerator source) {
+        super(source);
+        set(scale, shape);
     }
 
     private void set(double scale, double shape) {
-        if (scale <= 0.0 || shape <= 0.0)
+        if (scale<=0 || shape<=0)
             throw new ParameterException("Invgamma: The scale and shape parameters must be greater than 0.");
         this.scale = scale;
         this.shape = shape;
+        this.d = Distributions.gammaD(shape);
+        this.c = Distributions.gammaC(d);
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { 
-         return distrib.invgamma(scale, shape);
+    public double sample() {
+        return 1.0/(scale * distrib.standardGamma(shape, d, c));
     }
 }
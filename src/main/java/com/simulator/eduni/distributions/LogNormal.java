@@ -27,10 +27,30 @@ public class LogNormal extends Normal {
     public LogNormal(double mean, double variance, long seed) {
 	super(mean, variance, seed);
     }
+
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param mean The mean of the distribution
+     * @param variance The variance of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public LogNormal(double mean, double variance, ContinuousGenerator source) {
+	super(mean, variance, source);
+    }
     
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
     public double sample() { return distrib.lognormal2(mean, std_dev); }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+	// use normal2 because sqrt(1)=1
+	distrib.normal2(0.0, 1.0, out, off, len);
+	for (int i = off, end = off+len; i < end; i++)
+	    out[i] = Math.exp(mean+std_dev*out[i]);
+    }
 }
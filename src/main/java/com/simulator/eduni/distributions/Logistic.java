@@ -1,16 +1,17 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the logistic distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 10:51:22 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Logistic extends Generator implements ContinuousGenerator {
+public final class Logistic extends Generator implements ContinuousGenerator {
     private double location;
     private double scale;
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param location The location of the distribution
+     * @param scale The scale of the distribution
      */
     public Logistic(double location, double scale) {
         super();
@@ -20,6 +21,8 @@ public class Logistic extends Generator implements ContinuousGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param location The location of the distribution
+     * @param scale The scale of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
@@ -28,6 +31,17 @@ public class Logistic extends Generator implements ContinuousGenerator {
         set(location, scale);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param location The location of the distribution
+     * @param scale The scale of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Logistic(double location, double scale, ContinuousGenerator source) {
+        super(source);
+        set(location, scale);
+    }
+
     private void set(double location, double scale) {
         if (scale<=0)
             throw new ParameterException("Logistic: The scale parameter must be greater than 0.");
@@ -39,7 +53,19 @@ public class Logistic extends Generator implements ContinuousGenerator {
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { 
-         return distrib.logistic(location, scale);
+    public double sample() {
+        double u = distrib.source.sample();
+        return location - scale*Math.log((1/u)-1);
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+        distrib.source.sample(out, off, len);
+        for (int i = off, end = off+len; i < end; i++) {
+            double u = out[i];
+            out[i] = location - scale*Math.log((1/u)-1);
+        }
     }
 }
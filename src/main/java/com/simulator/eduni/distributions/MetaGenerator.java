@@ -1,119 +1,251 @@
 package com.simulator.eduni.distributions;
 
-import java.io.PrintWriter;
-import java.io.FileWriter;
-import java.util.Calendar;
-import javax.swing.JOptionPane;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
-/** A class which allows for automatically parsing a distribution implementation and generate
- * a class inheriting from Generator accordingly. Use the return type to implements either
- * DiscreteGenerator or ContinuousGenerator. Prompt the user to specify constraints on the parameters.
+/** A build-time generator of <code>Generator</code> classes. It reads a specification file
+ * describing each distribution (its parameters, the constraints on them, the constants derived
+ * from them and the sampling code) and writes one final class per distribution, without any
+ * reflection or interaction. The derived constants are computed once when the parameters are set,
+ * and the sampling code uses them and the uniform source directly, without going through the
+ * general-purpose methods of <code>Distributions</code>.
+ * <p>
+ * Usage: <code>java com.simulator.eduni.distributions.MetaGenerator &lt;spec file&gt; &lt;source dir&gt;</code>,
+ * e.g. with <code>src/main/spec/distributions.spec</code> and <code>src/main/java</code>.
+ * <p>
+ * A specification starts with the class name in brackets, followed by <code>key = value</code> lines:
+ * <ul>
+ * <li><code>name</code>: the name of the distribution used in the comments</li>
+ * <li><code>kind</code>: <code>continuous</code> or <code>discrete</code></li>
+ * <li><code>author</code>: the author line of the class comment</li>
+ * <li><code>param = type name : comment</code>: a parameter, in constructor order</li>
+ * <li><code>check = condition : message</code>: a constraint violation and its error message</li>
+ * <li><code>const = type name = expression</code>: a constant computed from the parameters</li>
+ * <li><code>sample</code>: the sample as an expression of the uniform sample <code>u</code>,
+ * from which a bulk sampling method is also generated</li>
+ * <li><code>body</code>: one line of a <code>sample()</code> body using the uniform generator
+ * <code>source</code>, for samplers which need more than one uniform sample</li>
+ * </ul>
+ * Lines starting with <code>#</code> are comments.
  * date 4/10/2002
  * @author F.Mallet
  */
 public class MetaGenerator {
-    String [] params;
-    String methodName, className;
-    int nbC; // number of constraints
-    public MetaGenerator(String name, int nb) { 
-	methodName = name;
-	className = name.substring(0,1).toUpperCase()+name.substring(1);
-	nbC = nb;
+    /** The description of one generated class */
+    static class Spec {
+	String className, name, kind = "continuous", author = "F.Mallet from C.Simatos's original";
+	String sample;
+	List<String[]> params = new ArrayList<>();	// type, name, comment
+	List<String[]> checks = new ArrayList<>();	// condition, message
+	List<String[]> consts = new ArrayList<>();	// type, name, expression
+	List<String> body = new ArrayList<>();
+
+	boolean isContinuous() { return kind.equals("continuous"); }
     }
-    public void generate() {	
-	try {
-	    String fileName = "eduni/distributions/" +className+".java";
-	    PrintWriter pw = new PrintWriter(new FileWriter(fileName));
-	    Distributions d = new Distributions();
-	    Class<? extends Distributions> cl = d.getClass();
-	    java.lang.reflect.Method [] methods = cl.getDeclaredMethods();
-	    for (int i=0; i<methods.length; i++) {
-		if (methods[i].getName().equals(methodName)) {
-		    generate(pw, methods[i]);
-		    break;
-		}
+
+    /** Parses the specifications of a file
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    static List<Spec> parse(List<String> lines) {
+	List<Spec> specs = new ArrayList<>();
+	Spec spec = null;
+	for (int i=0; i<lines.size(); i++) {
+	    String line = lines.get(i).trim();
+	    if (line.isEmpty() || line.startsWith("#"))
+		continue;
+	    if (line.startsWith("[") && line.endsWith("]")) {
+		spec = new Spec();
+		spec.className = line.substring(1, line.length()-1).trim();
+		spec.name = spec.className.toLowerCase();
+		specs.add(spec);
+		continue;
+	    }
+	    int eq = line.indexOf('=');
+	    if (spec == null || eq < 0)
+		throw new IllegalArgumentException("line "+(i+1)+": expected [Class] or key = value");
+	    String key = line.substring(0, eq).trim(), value = line.substring(eq+1).trim();
+	    switch (key) {
+	    case "name": spec.name = value; break;
+	    case "kind":
+		if (!value.equals("continuous") && !value.equals("discrete"))
+		    throw new IllegalArgumentException("line "+(i+1)+": kind must be continuous or discrete");
+		spec.kind = value;
+		break;
+	    case "author": spec.author = value; break;
+	    case "param": {
+		String[] declaration = split(value, ":", i);
+		String[] typeName = declaration[0].split("\\s+");
+		spec.params.add(new String[] {typeName[0], typeName[1], declaration[1]});
+		break;
+	    }
+	    case "check": spec.checks.add(split(value, ":", i)); break;
+	    case "const": {
+		String[] declaration = split(value, "=", i);
+		String[] typeName = declaration[0].split("\\s+");
+		spec.consts.add(new String[] {typeName[0], typeName[1], declaration[1]});
+		break;
+	    }
+	    case "sample": spec.sample = value; break;
+	    case "body": {
+		// keep the indentation after the space following '='
+		String statement = line.substring(eq+1).stripTrailing();
+		spec.body.add(statement.startsWith(" ") ? statement.substring(1) : statement);
+		break;
+	    }
+	    default: throw new IllegalArgumentException("line "+(i+1)+": unknown key "+key);
 	    }
-	    pw.close();
-	    System.out.println("File "+fileName+" successfully generated.");
-	    System.exit(0);
-	} catch (java.io.IOException ioe) {
-	    System.err.println(ioe);
 	}
+	for (Spec s : specs)
+	    if ((s.sample == null) == s.body.isEmpty())
+		throw new IllegalArgumentException(s.className+": give either a sample expression or body lines");
+	return specs;
     }
-    public boolean generate(PrintWriter pw, java.lang.reflect.Method m) {
-	pw.println("package com.simulator.eduni.distributions;\n");
-	pw.print("/** A random number generator based on the ");
-        pw.print(methodName); pw.println(" distribution.");
-	pw.println(" * Automatically generated by <code>MetaGenerator</code>.");
-	pw.println(" * @version 1.0, "+Calendar.getInstance().getTime());
-	pw.println(" * @author F.Mallet, adaptation from C.Simatos's original");
-	pw.println(" */\n");
-	pw.print("public class "+className+" extends Generator implements ");
-	if (m.getReturnType().getName().equals("double"))
-	    pw.print("Continuous");
-	else pw.print("Discrete");
-	pw.println("Generator {");
-	StringBuffer param = new StringBuffer(""), 
-	    paramT = new StringBuffer("");
-	@SuppressWarnings("rawtypes")
-	Class []ps = m.getParameterTypes();
-	params = new String[ps.length];
-	for (int i=0; i<ps.length; i++) {
-	    params[i] = JOptionPane.showInputDialog("Name of the parameter "+i, "p"+i);
-	    pw.println("    private "+ps[i].getName()+" "+params[i]+";");
-	    paramT.append(ps[i].getName()); paramT.append(" ");
-	    paramT.append(params[i]); param.append(params[i]);
-	    if (i+1<ps.length) { paramT.append(", "); param.append(", "); }
+
+    // Splits a value at the first separator
+    private static String[] split(String value, String separator, int line) {
+	int at = value.indexOf(separator);
+	if (at < 0)
+	    throw new IllegalArgumentException("line "+(line+1)+": expected '"+separator+"' in "+value);
+	return new String[] {value.substring(0, at).trim(), value.substring(at+1).trim()};
+    }
+
+    /** Generates the source of the class described by a specification */
+    static String generate(Spec s) {
+	StringBuilder out = new StringBuilder();
+	String type = s.isContinuous() ? "double" : "long";
+	StringBuilder paramT = new StringBuilder(), param = new StringBuilder();
+	for (String[] p : s.params) {
+	    if (param.length() > 0) { paramT.append(", "); param.append(", "); }
+	    paramT.append(p[0]).append(' ').append(p[1]);
+	    param.append(p[1]);
+	}
+
+	out.append("package com.simulator.eduni.distributions;\n\n");
+	out.append("/** A random number generator based on the ").append(s.name).append(" distribution.\n");
+	out.append("  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>\n");
+	out.append("  * @author ").append(s.author).append("\n");
+	out.append("  */\n\n");
+	out.append("public final class ").append(s.className).append(" extends Generator implements ")
+	    .append(s.isContinuous() ? "Continuous" : "Discrete").append("Generator {\n");
+	for (String[] p : s.params)
+	    out.append("    private ").append(p[0]).append(' ').append(p[1]).append(";\n");
+	for (String[] c : s.consts)
+	    out.append("    private ").append(c[0]).append(' ').append(c[1]).append("; // ").append(c[2]).append("\n");
+
+	out.append("    /**\n");
+	out.append("     * the seed is automatically provided by the <code>SeedGenerator</code>\n");
+	paramDocs(out, s);
+	out.append("     */\n");
+	constructor(out, s, paramT.toString(), "", "super();", param);
+	out.append("    /**\n");
+	out.append("     * The constructor with which a specific seed is set for the random\n");
+	out.append("     * number generator\n");
+	paramDocs(out, s);
+	out.append("     * @param seed The initial seed for the generator, two instances with\n");
+	out.append("     *             the same seed will generate the same sequence of numbers\n");
+	out.append("     */\n");
+	constructor(out, s, paramT.toString(), ", long seed", "super(seed);", param);
+	out.append("    /**\n");
+	out.append("     * The constructor with which a specific uniform source is set\n");
+	paramDocs(out, s);
+	out.append("     * @param source The uniform generator the samples are computed from\n");
+	out.append("     */\n");
+	constructor(out, s, paramT.toString(), ", ContinuousGenerator source", "super(source);", param);
+
+	out.append("    private void set(").append(paramT).append(") {\n");
+	for (String[] c : s.checks) {
+	    out.append("        if (").append(c[0]).append(")\n");
+	    out.append("            throw new ParameterException(\"").append(s.className).append(": ").append(c[1]).append(".\");\n");
 	}
-	pw.println("    /**");
-	pw.println("     * the seed is aumatically provided by the <code>SeedGenerator</code>");
-	pw.println("     */");
-	pw.println("    public "+className+"("+paramT+") {");
-	pw.println("        super();");
-	pw.println("        set("+param+");");
-	pw.println("    }\n");
-	pw.println("    /**");
-	pw.println("     * The constructor with which a specific seed is set for the random");
-	pw.println("     * number generator");
-	pw.println("     * @param seed The initial seed for the generator, two instances with");
-	pw.println("     *             the same seed will generate the same sequence of numbers");
-	pw.println("     */");
-	pw.println("    public "+className+"("+paramT+", long seed) {");
-	pw.println("        super(seed);");
-	pw.println("        set("+param+");");
-	pw.println("    }\n");
-	pw.println("    private void set("+paramT+") {");
-	for (int i=0; i<nbC; i++) {
-	    String c = JOptionPane.showInputDialog("Enter constraint violation "+i+"/"+nbC,
-						   "a<=0");
-	    String err = JOptionPane.showInputDialog("Error message when "+c);
-	    pw.println("        if ("+c+")");
-	    pw.println("            throw new ParameterException(\""+className+": "+err+".\");");
+	for (String[] p : s.params)
+	    out.append("        this.").append(p[1]).append(" = ").append(p[1]).append(";\n");
+	for (String[] c : s.consts)
+	    out.append("        this.").append(c[1]).append(" = ").append(c[2]).append(";\n");
+	out.append("    }\n\n");
+
+	out.append("    /**\n");
+	out.append("     * Generate a new random number.\n");
+	out.append("     * @return The next random number in the sequence\n");
+	out.append("     */\n");
+	out.append("    public ").append(type).append(" sample() {\n");
+	if (s.sample != null) {
+	    out.append("        double u = distrib.source.sample();\n");
+	    out.append("        return ").append(s.sample).append(";\n");
+	} else {
+	    if (String.join("\n", s.body).contains("source."))
+		out.append("        ContinuousGenerator source = distrib.source;\n");
+	    for (String line : s.body)
+		out.append("        ").append(line).append("\n");
 	}
-	for (int i=0; i<params.length; i++)
-	    pw.println("        this."+params[i]+" = "+params[i]+";");
-	pw.println("    }\n");
-	pw.println("    /**");
-	pw.println("     * Generate a new random number.");
-	pw.println("     * @return The next random number in the sequence");
-	pw.println("     */");
-	pw.println("    public "+m.getReturnType().getName()+" sample() { ");
-	pw.println("         return distrib."+methodName+"("+param+");");
-	pw.println("    }\n}");
-	return true;
+	out.append("    }\n");
+
+	if (s.sample != null) {
+	    out.append("\n    /**\n");
+	    out.append("     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.\n");
+	    out.append("     */\n");
+	    if (s.isContinuous()) {
+		out.append("    public void sample(double[] out, int off, int len) {\n");
+		out.append("        distrib.source.sample(out, off, len);\n");
+		out.append("        for (int i = off, end = off+len; i < end; i++) {\n");
+		out.append("            double u = out[i];\n");
+		out.append("            out[i] = ").append(s.sample).append(";\n");
+	    } else {
+		out.append("    public void sample(long[] out, int off, int len) {\n");
+		out.append("        double[] uniforms = distrib.uniforms(len);\n");
+		out.append("        for (int i = 0; i < len; i++) {\n");
+		out.append("            double u = uniforms[i];\n");
+		out.append("            out[off+i] = ").append(s.sample).append(";\n");
+	    }
+	    out.append("        }\n");
+	    out.append("    }\n");
+	}
+	out.append("}\n");
+	return out.toString();
+    }
+
+    private static void paramDocs(StringBuilder out, Spec s) {
+	for (String[] p : s.params)
+	    out.append("     * @param ").append(p[1]).append(' ').append(p[2]).append("\n");
+    }
+
+    private static void constructor(StringBuilder out, Spec s, String paramT, String extra, String call, CharSequence param) {
+	out.append("    public ").append(s.className).append('(').append(paramT).append(extra).append(") {\n");
+	out.append("        ").append(call).append("\n");
+	out.append("        set(").append(param).append(");\n");
+	out.append("    }\n\n");
+    }
+
+    /** Generates the classes of a specification file into the package directory under a source directory
+     * @return the generated files
+     * @throws IllegalArgumentException if the specification cannot be parsed
+     */
+    public static List<Path> generate(Path specFile, Path sourceDir) throws IOException {
+	Path dir = sourceDir.resolve(Path.of("com", "simulator", "eduni", "distributions"));
+	Files.createDirectories(dir);
+	List<Path> files = new ArrayList<>();
+	for (Spec spec : parse(Files.readAllLines(specFile, StandardCharsets.UTF_8))) {
+	    Path file = dir.resolve(spec.className+".java");
+	    Files.writeString(file, generate(spec), StandardCharsets.UTF_8);
+	    files.add(file);
+	}
+	return files;
     }
 
     static public void main(String args[]) {
-	if (args.length==0) {
-	    System.err.println("Usage: java MetaGenerator <distrib_name> [#<nb_constraints>]");
+	if (args.length != 2) {
+	    System.err.println("Usage: java MetaGenerator <spec file> <source dir>");
 	    System.exit(1);
 	}
-	int nb = 0;
 	try {
-	    if (args.length>1) nb = Integer.parseInt(args[1]);
-	} catch (NumberFormatException nfe) {
-	    nb = 0;
+	    for (Path file : generate(Path.of(args[0]), Path.of(args[1])))
+		System.out.println("File "+file+" successfully generated.");
+	} catch (IOException | IllegalArgumentException e) {
+	    System.err.println(e.getMessage());
+	    System.exit(1);
 	}
-	new MetaGenerator(args[0], nb).generate();
     }
 }
@@ -1,15 +1,16 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the negexp distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 10:57:43 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Negexp extends Generator implements ContinuousGenerator {
+public final class Negexp extends Generator implements ContinuousGenerator {
     private double mean;
+    private double negMean; // -mean
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param mean The mean of the distribution
      */
     public Negexp(double mean) {
         super();
@@ -19,6 +20,7 @@ public class Negexp extends Generator implements ContinuousGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param mean The mean of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
@@ -27,17 +29,40 @@ public class Negexp extends Generator implements ContinuousGenerator {
         set(mean);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param mean The mean of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Negexp(double mean, ContinuousGenerator source) {
+        super(source);
+        set(mean);
+    }
+
     private void set(double mean) {
         if (mean<=0)
             throw new ParameterException("Negexp: The mean must be greater than 0.");
         this.mean = mean;
+        this.negMean = -mean;
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { 
-         return distrib.negexp(mean);
+    public double sample() {
+        double u = distrib.source.sample();
+        return negMean * Math.log(u);
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+        distrib.source.sample(out, off, len);
+        for (int i = off, end = off+len; i < end; i++) {
+            double u = out[i];
+            out[i] = negMean * Math.log(u);
+        }
     }
 }
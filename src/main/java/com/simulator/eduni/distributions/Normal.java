@@ -32,6 +32,17 @@ public class Normal extends Generator implements ContinuousGenerator {
 	set(mean, variance);
     }
     
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param mean The mean of the distribution
+     * @param variance The variance of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Normal(double mean, double variance, ContinuousGenerator source) {
+	super(source);
+	set(mean, variance);
+    }
+    
     private void set(double mean, double variance) {
 	if (variance <= 0.0)
 	    throw new ParameterException("Normal: The variance must be greater than 0.");
@@ -39,9 +50,24 @@ public class Normal extends Generator implements ContinuousGenerator {
 	this.std_dev = Math.sqrt(variance);
     }
 
+    /**
+     * @return The algorithm used to compute the samples
+     */
+    public NormalMethod getMethod() { return distrib.getNormalMethod(); }
+    /**
+     * Selects the algorithm used to compute the samples; Box-Muller by default.
+     * @param method The new algorithm, e.g. <code>NormalMethod.ZIGGURAT</code>
+     */
+    public void setMethod(NormalMethod method) { distrib.setNormalMethod(method); }
+
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
     public double sample() { return distrib.normal2(mean, std_dev); }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) { distrib.normal2(mean, std_dev, out, off, len); }
 }
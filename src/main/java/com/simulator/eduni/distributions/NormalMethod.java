@@ -0,0 +1,16 @@
+package com.simulator.eduni.distributions;
+
+/** The algorithms available to compute standard normal samples.
+ * @see Distributions#setNormalMethod(NormalMethod)
+ */
+public enum NormalMethod {
+    /** Box-Muller transform with one cosine, square root and logarithm per sample;
+     *  the original method, kept as the default so existing seeds give the same results */
+    BOX_MULLER,
+    /** Marsaglia's polar method; every accepted pair of uniforms yields two samples,
+     *  the second one is kept for the next call */
+    POLAR,
+    /** Marsaglia and Tsang's ziggurat, in Doornik's variant for floating point uniforms;
+     *  about 98% of the samples need two uniforms, a comparison and a multiplication */
+    ZIGGURAT
+}
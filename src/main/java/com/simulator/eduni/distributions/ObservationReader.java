@@ -0,0 +1,110 @@
+package com.simulator.eduni.distributions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads observations from a text file into a primitive array, streaming the file through a
+ * fixed NIO buffer so that the text of files with tens of millions of observations is never held
+ * in memory. The array grows by half its size and is trimmed at the end, so reading briefly needs
+ * about 2.5 times the memory of the resulting array. Observations are separated by white space,
+ * commas or semicolons, and <code>#</code> starts a comment running to the end of the line.
+ */
+final class ObservationReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_TOKEN = 64;
+
+    private interface TokenHandler {
+	void token(char[] chars, int len, long line);
+    }
+
+    private ObservationReader() {}
+
+    /**
+     * @return The observations of the file, in file order
+     * @throws IOException if the file cannot be read
+     * @throws ParameterException if an observation is not a number
+     */
+    static double[] readDoubles(Path file) throws IOException {
+	double[][] values = {new double[1024]};
+	int[] count = {0};
+	read(file, (chars, len, line) -> {
+	    double value;
+	    try {
+		value = Double.parseDouble(new String(chars, 0, len));
+	    } catch (NumberFormatException e) {
+		throw new ParameterException(file+":"+line+": not a number: "+new String(chars, 0, len));
+	    }
+	    if (count[0] == values[0].length)
+		values[0] = Arrays.copyOf(values[0], grow(count[0]));
+	    values[0][count[0]++] = value;
+	});
+	return Arrays.copyOf(values[0], count[0]);
+    }
+
+    /**
+     * @return The observations of the file, in file order
+     * @throws IOException if the file cannot be read
+     * @throws ParameterException if an observation is not an integer
+     */
+    static long[] readLongs(Path file) throws IOException {
+	long[][] values = {new long[1024]};
+	int[] count = {0};
+	read(file, (chars, len, line) -> {
+	    long value;
+	    try {
+		value = Long.parseLong(new String(chars, 0, len));
+	    } catch (NumberFormatException e) {
+		throw new ParameterException(file+":"+line+": not an integer: "+new String(chars, 0, len));
+	    }
+	    if (count[0] == values[0].length)
+		values[0] = Arrays.copyOf(values[0], grow(count[0]));
+	    values[0][count[0]++] = value;
+	});
+	return Arrays.copyOf(values[0], count[0]);
+    }
+
+    private static int grow(int length) {
+	if (length == Integer.MAX_VALUE - 8)
+	    throw new ParameterException("Too many observations");
+	return (int)Math.min(Integer.MAX_VALUE - 8, length + (length >> 1) + 1L);
+    }
+
+    private static void read(Path file, TokenHandler handler) throws IOException {
+	char[] token = new char[MAX_TOKEN];
+	int len = 0;
+	long line = 1;
+	boolean comment = false;
+	ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+	    while (channel.read(buffer) >= 0) {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+		    char c = (char)(buffer.get() & 0xff);
+		    if (c == '\n' || c == '\r' || c == ' ' || c == '\t' || c == ',' || c == ';' || c == '#') {
+			if (len > 0) {
+			    handler.token(token, len, line);
+			    len = 0;
+			}
+			if (c == '\n') {
+			    line++;
+			    comment = false;
+			} else if (c == '#')
+			    comment = true;
+		    } else if (!comment) {
+			if (len == MAX_TOKEN)
+			    throw new ParameterException(file+":"+line+": observation too long");
+			token[len++] = c;
+		    }
+		}
+		buffer.clear();
+	    }
+	}
+	if (len > 0)
+	    handler.token(token, len, line);
+    }
+}
@@ -1,45 +1,73 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the pareto distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 10:59:16 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Pareto extends Generator implements ContinuousGenerator {
-    private double shape;
+public final class Pareto extends Generator implements ContinuousGenerator {
     private double scale;
+    private double shape;
+    private double invShape; // 1/shape
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
      */
     public Pareto(double scale, double shape) {
         super();
-        set(shape, scale);
+        set(scale, shape);
     }
 
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
     public Pareto(double scale, double shape, long seed) {
         super(seed);
-        set(shape, scale);
+        set(scale, shape);
+    }
+
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Pareto(double scale, double shape, ContinuousGenerator source) {
+        super(source);
+        set(scale, shape);
     }
 
-    private void set(double shape, double scale) {
-        if (shape<=0 || scale<=0)
+    private void set(double scale, double shape) {
+        if (scale<=0 || shape<=0)
             throw new ParameterException("Pareto: Shape and scale parameters must be greater than 0.");
-        this.shape = shape;
         this.scale = scale;
+        this.shape = shape;
+        this.invShape = 1/shape;
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { 
-         return distrib.pareto(shape, scale);
+    public double sample() {
+        double u = distrib.source.sample();
+        return scale / Math.pow(u, invShape);
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+        distrib.source.sample(out, off, len);
+        for (int i = off, end = off+len; i < end; i++) {
+            double u = out[i];
+            out[i] = scale / Math.pow(u, invShape);
+        }
     }
 }
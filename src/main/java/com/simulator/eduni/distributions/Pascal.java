@@ -1,16 +1,20 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the pascal distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 11:00:47 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Pascal extends Generator implements DiscreteGenerator {
+public final class Pascal extends Generator implements DiscreteGenerator {
     private double prob;
     private int successes;
+    private double failureScale; // (1.0-prob)/prob
+    private double d; // Distributions.gammaD(successes)
+    private double c; // Distributions.gammaC(d)
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param prob The probability of success
+     * @param successes The number of successes
      */
     public Pascal(double prob, int successes) {
         super();
@@ -20,6 +24,8 @@ public class Pascal extends Generator implements DiscreteGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param prob The probability of success
+     * @param successes The number of successes
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
@@ -28,6 +34,17 @@ public class Pascal extends Generator implements DiscreteGenerator {
         set(prob, successes);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param prob The probability of success
+     * @param successes The number of successes
+     * @param source The uniform generator the samples are computed from
+     */
+    public Pascal(double prob, int successes, ContinuousGenerator source) {
+        super(source);
+        set(prob, successes);
+    }
+
     private void set(double prob, int successes) {
         if (prob<=0 || prob>=1)
             throw new ParameterException("Pascal: The probability of success must be between 0 and 1.");
@@ -35,13 +52,16 @@ public class Pascal extends Generator implements DiscreteGenerator {
             throw new ParameterException("Pascal: The number of successes must be a positive integer.");
         this.prob = prob;
         this.successes = successes;
+        this.failureScale = (1.0-prob)/prob;
+        this.d = Distributions.gammaD(successes);
+        this.c = Distributions.gammaC(d);
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public long sample() { 
-         return distrib.pascal(prob, successes);
+    public long sample() {
+        return successes + distrib.poisson(failureScale * distrib.standardGamma(successes, d, c));
     }
 }
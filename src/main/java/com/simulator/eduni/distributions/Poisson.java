@@ -1,15 +1,21 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the poisson distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 11:02:17 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Poisson extends Generator implements DiscreteGenerator {
+public final class Poisson extends Generator implements DiscreteGenerator {
     private double mean;
+    private double expMean; // Math.exp(-mean)
+    private double loglam; // Math.log(mean)
+    private double b; // 0.931 + 2.53*Math.sqrt(mean)
+    private double a; // -0.059 + 0.02483*b
+    private double loginvalpha; // Math.log(1.1239 + 1.1328/(b - 3.4))
+    private double vr; // 0.9277 - 3.6224/(b - 2.0)
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param mean The mean of the distribution
      */
     public Poisson(double mean) {
         super();
@@ -19,6 +25,7 @@ public class Poisson extends Generator implements DiscreteGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param mean The mean of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
@@ -27,17 +34,42 @@ public class Poisson extends Generator implements DiscreteGenerator {
         set(mean);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param mean The mean of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Poisson(double mean, ContinuousGenerator source) {
+        super(source);
+        set(mean);
+    }
+
     private void set(double mean) {
         if (mean<=0)
             throw new ParameterException("Poisson: The mean must be greater than 0.");
         this.mean = mean;
+        this.expMean = Math.exp(-mean);
+        this.loglam = Math.log(mean);
+        this.b = 0.931 + 2.53*Math.sqrt(mean);
+        this.a = -0.059 + 0.02483*b;
+        this.loginvalpha = Math.log(1.1239 + 1.1328/(b - 3.4));
+        this.vr = 0.9277 - 3.6224/(b - 2.0);
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public long sample() { 
-         return distrib.poisson(mean);
+    public long sample() {
+        ContinuousGenerator source = distrib.source;
+        if (mean >= 10.0)
+            return distrib.poissonRejection(mean, loglam, b, a, loginvalpha, vr);
+        long x = -1L;
+        double product = 1.0;
+        do {
+            x++;
+            product *= source.sample();
+        } while (expMean < product);
+        return x;
     }
 }
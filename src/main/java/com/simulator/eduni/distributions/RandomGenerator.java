@@ -11,15 +11,18 @@ package com.simulator.eduni.distributions;
  * The seed (<code>Y[0]</code>) provided is used to generate a sequence of pseudorandom
  * numbers uniformly distributed between <code>0</code> and <code>1</code>. The cycle of the generator
  * is <code>2<sup>31</sup>-2</code>.
+ * <p>
+ * Since <code>Y[n] = (a<sup>n</sup> mod m) * Y[0] mod m</code>, the generator can jump
+ * <code>n</code> steps ahead in O(log n) time with <code>skip(n)</code>.
  * @version 1.0, 2 October 2002
  * @author F.Mallet from Costas Simatos original
  */
 
 public class RandomGenerator implements ContinuousGenerator {
     // The multiplier
-    private final long a = 742938285;
+    private static final long a = 742938285;
     // The modulus
-    private final long m = 2147483647;
+    private static final long m = 2147483647;
     // The last computed random number
     private long seed;
     
@@ -30,6 +33,15 @@ public class RandomGenerator implements ContinuousGenerator {
     public double sample() { 
 	return ((double)nextLong()) / m;
     }
+
+    public void sample(double[] out, int off, int len) {
+	long y = seed;
+	for (int i = off, end = off+len; i < end; i++) {
+	    y = (a * y) % m;
+	    out[i] = ((double)y) / m;
+	}
+	seed = y;
+    }
     // ----- } implements ContinuousGenerator -----
 
     /**
@@ -38,6 +50,32 @@ public class RandomGenerator implements ContinuousGenerator {
     public long nextLong() {
 	return seed = (a * seed) % m;
     }
+
+    /**
+     * Advances the generator <code>n</code> steps, giving the same state as
+     * <code>n</code> calls to <code>nextLong()</code> in O(log n) time.
+     * @param n The number of steps to skip
+     */
+    public void skip(long n) { jump(jumpMultiplier(n)); }
+
+    /**
+     * @param n The number of steps
+     * @return The multiplier <code>a<sup>n</sup> mod m</code> which advances the generator n steps
+     */
+    public static long jumpMultiplier(long n) {
+	if (n < 0)
+	    throw new ParameterException("RandomGenerator: The number of steps must not be negative.");
+	// square-and-multiply; both factors are below 2^31 so products fit in a long
+	long result = 1, base = a;
+	for (; n > 0; n >>= 1) {
+	    if ((n & 1) != 0) result = (result * base) % m;
+	    base = (base * base) % m;
+	}
+	return result;
+    }
+
+    // advances the generator by a multiplier obtained from jumpMultiplier()
+    void jump(long multiplier) { seed = (multiplier * seed) % m; }
     
     // ----- implements Seedable { -----
     public void setSeed(long seed) { this.seed = seed; }
@@ -1,18 +1,23 @@
 package com.simulator.eduni.distributions;
 
 /** A SeedGenerator is a DiscreteGenerator which produces well-spaced seeds
- *  according to its spacing attribute. It relies on a <code>RandomGenerator</code>
+ *  according to its spacing attribute. It relies on a <code>RandomGenerator</code>,
+ *  which jumps <code>spacing</code> steps ahead in O(log spacing) for each new seed.
+ *  Note that the cycle of the <code>RandomGenerator</code> is 2<sup>31</sup>-2, so
+ *  spacing &times; number of seeds should stay below it for the seeds to be distinct.
  */
 public class SeedGenerator implements DiscreteGenerator {
     private static long root = 4851L; // The root seed
-    private int spacing;
+    private long spacing;
+    private long jump; // a^spacing mod m, advances the source spacing steps at once
     private boolean not_sampled = true; // to use the assigned seed (id Costas)
     private RandomGenerator source;
 
     public SeedGenerator () { this(root, 100000); } //default spacing=100000
-    public SeedGenerator (long seed, int spacing) { 
+    public SeedGenerator (long seed, long spacing) { 
 	source = new RandomGenerator(seed);
 	this.spacing = spacing;
+	this.jump = RandomGenerator.jumpMultiplier(spacing);
     }
 
     // ----- implements Seedable { -----
@@ -25,14 +30,14 @@ public class SeedGenerator implements DiscreteGenerator {
     public long sample() {
 	if (not_sampled) not_sampled = false;
 	else
-	    for (int i=0; i<spacing; i++) source.nextLong();
+	    source.jump(jump);
 	return getSeed();
     }
 
     private static SeedGenerator defaut = new SeedGenerator();
     // package: accessible only from the generators within the package
     static SeedGenerator getDefaultSeedGenerator() { return defaut; }
-    static void setDefaultSeedGenerator(long seed, int spacing) {
+    static void setDefaultSeedGenerator(long seed, long spacing) {
 	defaut = new SeedGenerator(seed, spacing);
     }
 }
@@ -0,0 +1,84 @@
+package com.simulator.eduni.distributions;
+
+/**
+ * A splittable random number generator based on SplitMix64
+ * (G. Steele, D. Lea, C. Flood, "Fast splittable pseudorandom number generators", 2014),
+ * the algorithm behind <code>java.util.SplittableRandom</code>.
+ * The state is advanced by adding an odd increment <code>gamma</code>, and every output
+ * is a bijective 64-bit mix of the state:
+ * <p>
+ * <code>Y[n+1] = Y[n] + gamma mod 2<sup>64</sup>, X[n] = mix64(Y[n+1])</code>
+ * <p>
+ * The cycle of each stream is <code>2<sup>64</sup></code>, generating a number takes a few
+ * shifts and multiplications and no division, and <code>split()</code> creates a new stream
+ * with its own state and increment. Samples are uniformly distributed in the open
+ * interval <code>(0, 1)</code>, so they can be passed to <code>Math.log</code> like the
+ * samples of <code>RandomGenerator</code>.
+ */
+
+public class SplitMixGenerator implements SplittableGenerator {
+    // The default increment, the odd integer closest to 2^64 divided by the golden ratio
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // The current state
+    private long seed;
+    // The increment of this stream, always odd
+    private final long gamma;
+
+    public SplitMixGenerator () { this(SeedGenerator.getDefaultSeedGenerator().sample()); }
+    public SplitMixGenerator (long seed) { this(seed, GOLDEN_GAMMA); }
+    private SplitMixGenerator (long seed, long gamma) {
+	this.seed = seed;
+	this.gamma = gamma;
+    }
+
+    // ----- implements ContinuousGenerator { -----
+    public double sample() {
+	// the 52 high bits, centred in their interval so that 0 and 1 are never returned
+	return ((nextLong() >>> 12) + 0.5) * 0x1.0p-52;
+    }
+
+    public void sample(double[] out, int off, int len) {
+	long y = seed;
+	for (int i = off, end = off+len; i < end; i++) {
+	    y += gamma;
+	    out[i] = ((mix64(y) >>> 12) + 0.5) * 0x1.0p-52;
+	}
+	seed = y;
+    }
+    // ----- } implements ContinuousGenerator -----
+
+    /**
+     * @return The next 64-bit random number in the sequence
+     */
+    public long nextLong() {
+	return mix64(seed += gamma);
+    }
+
+    // ----- implements SplittableGenerator { -----
+    public SplitMixGenerator split() {
+	return new SplitMixGenerator(nextLong(), mixGamma(seed += gamma));
+    }
+    // ----- } implements SplittableGenerator -----
+
+    // David Stafford's variant 13 of the MurmurHash3 finalizer
+    private static long mix64(long z) {
+	z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+	z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+	return z ^ (z >>> 31);
+    }
+
+    // Derives an odd increment with enough bit transitions to give a well-mixed stream
+    private static long mixGamma(long z) {
+	z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+	z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+	z = (z ^ (z >>> 33)) | 1L;
+	int n = Long.bitCount(z ^ (z >>> 1));
+	return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    // ----- implements Seedable { -----
+    public void setSeed(long seed) { this.seed = seed; }
+    public long getSeed() { return seed; }
+    public void reseed() { this.seed = SeedGenerator.getDefaultSeedGenerator().sample(); }
+    // ----- } implements Seedable -----
+}
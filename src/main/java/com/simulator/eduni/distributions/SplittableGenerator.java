@@ -0,0 +1,13 @@
+package com.simulator.eduni.distributions;
+
+/** A splittable generator can create new generators whose streams are
+ *  statistically independent of its own, without any shared state or seed bookkeeping.
+ *  It is used to give every replication and every service unit its own uniform source.
+ */
+public interface SplittableGenerator extends ContinuousGenerator {
+    /**
+     * Creates a new generator and advances this one.
+     * @return A generator whose stream is independent of this generator's stream
+     */
+    SplittableGenerator split();
+}
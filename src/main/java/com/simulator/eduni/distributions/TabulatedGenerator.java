@@ -0,0 +1,190 @@
+package com.simulator.eduni.distributions;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A random number generator sampling any continuous distribution from a precomputed table
+ * of its inverse cumulative distribution function (the quantile function).
+ * The table holds the quantiles at <code>n+1</code> equally spaced probabilities and is built once,
+ * either from an analytic CDF or from a large sample of another <code>ContinuousGenerator</code>.
+ * A sample then costs one uniform sample, one multiplication, one table lookup and a linear
+ * interpolation, whatever the cost of the original distribution.
+ * <p>
+ * The accuracy is a bound on the u-error, i.e. on the difference between the probability
+ * of a sample and the uniform sample it was computed from, so that it does not depend on the unit
+ * of the samples and can be reached in long tails. The number of intervals is doubled until the
+ * u-error is within the bound at the middle of every interval.
+ */
+
+public class TabulatedGenerator extends Generator implements ContinuousGenerator {
+    /** The largest number of intervals of a table */
+    public static final int MAX_INTERVALS = 1 << 24;
+    private static final int MIN_INTERVALS = 64;
+    // Number of bisection steps used to invert a CDF, enough to reach the precision of a double
+    private static final int BISECTIONS = 100;
+
+    private double[] quantiles;	// quantiles[i] is the quantile of probability i/intervals
+    private double[] slopes;	// quantiles[i+1] - quantiles[i]
+    private int intervals;
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param cdf The cumulative distribution function, non-decreasing on [min, max]
+     * @param min The lower bound of the tabulated range
+     * @param max The upper bound of the tabulated range; the distribution is truncated to [min, max]
+     * @param accuracy The largest u-error allowed, e.g. 1e-6
+     */
+    public TabulatedGenerator(DoubleUnaryOperator cdf, double min, double max, double accuracy) {
+	super();
+	set(cdf, min, max, accuracy);
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param cdf The cumulative distribution function, non-decreasing on [min, max]
+     * @param min The lower bound of the tabulated range
+     * @param max The upper bound of the tabulated range; the distribution is truncated to [min, max]
+     * @param accuracy The largest u-error allowed, e.g. 1e-6
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public TabulatedGenerator(DoubleUnaryOperator cdf, double min, double max, double accuracy, long seed) {
+	super(seed);
+	set(cdf, min, max, accuracy);
+    }
+
+    /**
+     * Tabulates the distribution of another generator from its samples;
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param distribution The generator whose distribution is tabulated
+     * @param samples The number of samples drawn from it to estimate the quantiles
+     * @param accuracy The largest u-error allowed, at least about <code>1/samples</code>
+     */
+    public TabulatedGenerator(ContinuousGenerator distribution, int samples, double accuracy) {
+	super();
+	set(distribution, samples, accuracy);
+    }
+
+    /**
+     * Tabulates the distribution of another generator from its samples, with a specific
+     * seed for the random number generator
+     * @param distribution The generator whose distribution is tabulated
+     * @param samples The number of samples drawn from it to estimate the quantiles
+     * @param accuracy The largest u-error allowed, at least about <code>1/samples</code>
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public TabulatedGenerator(ContinuousGenerator distribution, int samples, double accuracy, long seed) {
+	super(seed);
+	set(distribution, samples, accuracy);
+    }
+
+    private void set(DoubleUnaryOperator cdf, double min, double max, double accuracy) {
+	if (!(min < max) || Double.isInfinite(min) || Double.isInfinite(max))
+	    throw new ParameterException("TabulatedGenerator: The range must be finite and not empty.");
+	double low = cdf.applyAsDouble(min), high = cdf.applyAsDouble(max);
+	if (!(low < high))
+	    throw new ParameterException("TabulatedGenerator: The CDF must increase on the range.");
+	// quantile of the distribution truncated to [min, max], by bisection
+	tabulate(p -> {
+	    double target = low + p*(high - low), a = min, b = max;
+	    for (int i = 0; i < BISECTIONS && a < b; i++) {
+		double middle = 0.5*(a + b);
+		if (middle <= a || middle >= b)
+		    break;
+		if (cdf.applyAsDouble(middle) < target) a = middle;
+		else b = middle;
+	    }
+	    return p == 0.0 ? min : p == 1.0 ? max : 0.5*(a + b);
+	}, x -> (cdf.applyAsDouble(x) - low)/(high - low), accuracy);
+    }
+
+    private void set(ContinuousGenerator distribution, int samples, double accuracy) {
+	if (samples < 2)
+	    throw new ParameterException("TabulatedGenerator: At least two samples are needed.");
+	double[] sorted = new double[samples];
+	distribution.sample(sorted, 0, samples);
+	Arrays.sort(sorted);
+	// quantile of the sample, interpolated between the order statistics
+	tabulate(p -> {
+	    double position = p*(samples - 1);
+	    int i = Math.min((int)position, samples - 2);
+	    return sorted[i] + (position - i)*(sorted[i+1] - sorted[i]);
+	}, x -> {
+	    int i = Arrays.binarySearch(sorted, x);
+	    if (i >= 0)
+		return (double)i/(samples - 1);
+	    i = -i - 2;	// the last order statistic below x
+	    if (i < 0) return 0.0;
+	    if (i >= samples - 1) return 1.0;
+	    return (i + (x - sorted[i])/(sorted[i+1] - sorted[i]))/(samples - 1);
+	}, accuracy);
+    }
+
+    // Doubles the number of intervals until the u-error at the midpoints is within the accuracy;
+    // the midpoints of one level are the new points of the next, so each quantile is computed once
+    private void tabulate(DoubleUnaryOperator quantile, DoubleUnaryOperator cdf, double accuracy) {
+	if (!(accuracy > 0.0))
+	    throw new ParameterException("TabulatedGenerator: The accuracy must be greater than 0.");
+	int n = MIN_INTERVALS;
+	double[] points = new double[n + 1];
+	for (int i = 0; i <= n; i++)
+	    points[i] = quantile.applyAsDouble((double)i/n);
+	for (;;) {
+	    double[] middles = new double[n];
+	    boolean accurate = true;
+	    for (int i = 0; i < n; i++) {
+		double p = (i + 0.5)/n;
+		middles[i] = quantile.applyAsDouble(p);
+		if (accurate && Math.abs(cdf.applyAsDouble(0.5*(points[i] + points[i+1])) - p) > accuracy)
+		    accurate = false;
+	    }
+	    if (accurate)
+		break;
+	    if (n == MAX_INTERVALS)
+		throw new ParameterException("TabulatedGenerator: The accuracy cannot be reached with "+MAX_INTERVALS+" intervals.");
+	    double[] refined = new double[2*n + 1];
+	    for (int i = 0; i < n; i++) {
+		refined[2*i] = points[i];
+		refined[2*i+1] = middles[i];
+	    }
+	    refined[2*n] = points[n];
+	    points = refined;
+	    n *= 2;
+	}
+	intervals = n;
+	quantiles = points;
+	slopes = new double[n];
+	for (int i = 0; i < n; i++)
+	    slopes[i] = points[i+1] - points[i];
+    }
+
+    /**
+     * @return The number of intervals of the table
+     */
+    public int getIntervals() { return intervals; }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public double sample() {
+	double position = distrib.source.sample() * intervals;
+	int i = (int)position;
+	return quantiles[i] + (position - i)*slopes[i];
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+	distrib.source.sample(out, off, len);
+	for (int i = off, end = off+len; i < end; i++) {
+	    double position = out[i] * intervals;
+	    int j = (int)position;
+	    out[i] = quantiles[j] + (position - j)*slopes[j];
+	}
+    }
+}
@@ -1,15 +1,17 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the tstudent distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 11:03:30 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Tstudent extends Generator implements ContinuousGenerator {
+public final class Tstudent extends Generator implements ContinuousGenerator {
     private long deg_freedom;
+    private double d; // Distributions.gammaD(deg_freedom/2.0)
+    private double c; // Distributions.gammaC(d)
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param deg_freedom The degrees of freedom of the distribution
      */
     public Tstudent(long deg_freedom) {
         super();
@@ -19,6 +21,7 @@ public class Tstudent extends Generator implements ContinuousGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param deg_freedom The degrees of freedom of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
@@ -27,17 +30,29 @@ public class Tstudent extends Generator implements ContinuousGenerator {
         set(deg_freedom);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param deg_freedom The degrees of freedom of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Tstudent(long deg_freedom, ContinuousGenerator source) {
+        super(source);
+        set(deg_freedom);
+    }
+
     private void set(long deg_freedom) {
         if (deg_freedom<=0)
             throw new ParameterException("Tstudent: The degrees of freedom must be a positive integer.");
         this.deg_freedom = deg_freedom;
+        this.d = Distributions.gammaD(deg_freedom/2.0);
+        this.c = Distributions.gammaC(d);
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { 
-         return distrib.tstudent(deg_freedom);
+    public double sample() {
+        return distrib.normal2(0.0, 1.0) / Math.sqrt(2.0*distrib.standardGamma(deg_freedom/2.0, d, c)/deg_freedom);
     }
 }
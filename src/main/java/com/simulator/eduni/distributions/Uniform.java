@@ -1,16 +1,18 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the uniform distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 11:04:34 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet from C.Simatos's original
   */
 
-public class Uniform extends Generator implements ContinuousGenerator {
+public final class Uniform extends Generator implements ContinuousGenerator {
     private double min;
     private double max;
+    private double range; // max-min
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param min The minimum of the distribution
+     * @param max The maximum of the distribution
      */
     public Uniform(double min, double max) {
         super();
@@ -20,6 +22,8 @@ public class Uniform extends Generator implements ContinuousGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param min The minimum of the distribution
+     * @param max The maximum of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
@@ -28,18 +32,42 @@ public class Uniform extends Generator implements ContinuousGenerator {
         set(min, max);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param min The minimum of the distribution
+     * @param max The maximum of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Uniform(double min, double max, ContinuousGenerator source) {
+        super(source);
+        set(min, max);
+    }
+
     private void set(double min, double max) {
         if (max<=min)
             throw new ParameterException("Uniform: The maximum must be greater than the minimum.");
         this.min = min;
         this.max = max;
+        this.range = max-min;
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { 
-         return distrib.uniform(min, max);
+    public double sample() {
+        double u = distrib.source.sample();
+        return range * u + min;
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+        distrib.source.sample(out, off, len);
+        for (int i = off, end = off+len; i < end; i++) {
+            double u = out[i];
+            out[i] = range * u + min;
+        }
     }
 }
@@ -1,16 +1,18 @@
 package com.simulator.eduni.distributions;
 
 /** A random number generator based on the weibull distribution.
-  * automatically generated by <code>MetaGenerator</code> 
-  * @version 1.0, Thu Oct 03 11:05:46 BST 2002
+  * automatically generated by <code>MetaGenerator</code> from <code>distributions.spec</code>
   * @author F.Mallet. Adaptation of C.Simatos's original
   */
 
-public class Weibull extends Generator implements ContinuousGenerator {
+public final class Weibull extends Generator implements ContinuousGenerator {
     private double scale;
     private double shape;
+    private double invShape; // 1/shape
     /**
-     * the seed is aumatically provided by the <code>SeedGenerator</code>
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
      */
     public Weibull(double scale, double shape) {
         super();
@@ -20,6 +22,8 @@ public class Weibull extends Generator implements ContinuousGenerator {
     /**
      * The constructor with which a specific seed is set for the random
      * number generator
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
      * @param seed The initial seed for the generator, two instances with
      *             the same seed will generate the same sequence of numbers
      */
@@ -28,18 +32,42 @@ public class Weibull extends Generator implements ContinuousGenerator {
         set(scale, shape);
     }
 
+    /**
+     * The constructor with which a specific uniform source is set
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
+     * @param source The uniform generator the samples are computed from
+     */
+    public Weibull(double scale, double shape, ContinuousGenerator source) {
+        super(source);
+        set(scale, shape);
+    }
+
     private void set(double scale, double shape) {
-        if (scale<=0 || shape <= 0)
-            throw new ParameterException("Weibull:  Scale and shape parameters must be greater than 0.");
+        if (scale<=0 || shape<=0)
+            throw new ParameterException("Weibull: Scale and shape parameters must be greater than 0.");
         this.scale = scale;
         this.shape = shape;
+        this.invShape = 1/shape;
     }
 
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { 
-         return distrib.weibull(scale, shape);
+    public double sample() {
+        double u = distrib.source.sample();
+        return scale * Math.pow(-Math.log(u), invShape);
+    }
+
+    /**
+     * Generate <code>len</code> new random numbers into <code>out</code>, starting at <code>off</code>.
+     */
+    public void sample(double[] out, int off, int len) {
+        distrib.source.sample(out, off, len);
+        for (int i = off, end = off+len; i < end; i++) {
+            double u = out[i];
+            out[i] = scale * Math.pow(-Math.log(u), invShape);
+        }
     }
 }
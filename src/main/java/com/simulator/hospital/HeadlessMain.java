@@ -0,0 +1,451 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Empirical;
+import com.simulator.eduni.distributions.NormalMethod;
+import com.simulator.eduni.distributions.ParameterException;
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import com.simulator.hospital.controller.BatchController;
+import com.simulator.hospital.controller.ReplicationController;
+import com.simulator.hospital.controller.SweepController;
+import com.simulator.hospital.framework.AsyncTraceSink;
+import com.simulator.hospital.framework.EventListType;
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.framework.TimeBase;
+import com.simulator.hospital.framework.Trace;
+import com.simulator.hospital.model.logic.EventLogRecorder;
+import com.simulator.hospital.model.logic.ModelListener;
+import com.simulator.hospital.model.logic.ServerSelection;
+import com.simulator.hospital.model.logic.ServiceUnit;
+import com.simulator.hospital.model.logic.SimulatorModel;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Entry point for running the hospital simulation without the JavaFX user interface.
+ * <p>
+ * Parameters use the same names as the saved settings and are read from an optional
+ * properties file given with {@code --config=<file>}, then overridden by {@code <name>=<value>}
+ * arguments, e.g. {@code Register=2 ArrivalTime=4 SimulationTime=10000}.
+ * Results are written to standard output, or to the file given with {@code --output=<file>}.
+ * Besides the model parameters, the settings are:
+ * <ul>
+ * <li>{@code EventList}, {@code TickResolution}: the event list (PRIORITY_QUEUE, HEAP or CALENDAR) and the ticks per minute, 0 for continuous time</li>
+ * <li>{@code Replications}, {@code Seed}, {@code Confidence}, {@code Threads}: more than one replication runs them in parallel
+ * and reports the means, variances and confidence intervals of the results</li>
+ * <li>{@code Generator}: LEHMER seed streams, or SPLITMIX streams split once per replication and random variable</li>
+ * <li>{@code NormalMethod}: BOX_MULLER, POLAR or ZIGGURAT for the normal service times</li>
+ * <li>{@code RegisterData}, {@code GeneralData}, {@code SpecialistData}: files of measured service durations,
+ * sampled instead of the normal service times of their unit</li>
+ * <li>{@code SpecialistProbability}: the share of customers routed to the specialist instead of the general unit</li>
+ * <li>{@code ServerSelection}: FIRST_FREE, RANDOM or LEAST_BUSY, how a unit chooses among its idle service points</li>
+ * <li>{@code TraceLevel}, {@code TraceFile}, {@code TraceFileSize}, {@code TraceOverflow}: the trace, written to a file
+ * rotated every TraceFileSize megabytes from a background thread, which drops (DROP) or waits for (BLOCK) messages when it falls behind</li>
+ * <li>{@code EventLog}: a binary log of every event of a single run, which the animation view can replay</li>
+ * </ul>
+ * Giving several values for a model parameter, as a list {@code 1,2,4} or a range {@code min:max[:step]},
+ * runs a parameter sweep over every combination and writes one CSV line per combination as it finishes.
+ */
+public class HeadlessMain {
+
+    /**
+     * Default values used for any parameter that is not configured.
+     */
+    private static final String[][] DEFAULTS = {
+            {"Register", "1"}, {"General", "1"}, {"Specialist", "1"},
+            {"RegisterTime", "5"}, {"GeneralTime", "10"}, {"SpecialistTime", "15"},
+            {"ArrivalTime", "5"}, {"SimulationTime", "1000"}, {"EventList", "HEAP"}, {"TickResolution", "0"}, {"TraceLevel", "ERR"},
+            {"Replications", "1"}, {"Seed", "4851"}, {"Confidence", "0.95"}, {"Generator", "LEHMER"}, {"NormalMethod", "BOX_MULLER"},
+            {"RegisterData", ""}, {"GeneralData", ""}, {"SpecialistData", ""}, {"SpecialistProbability", "0.5"}, {"ServerSelection", "FIRST_FREE"},
+            {"TraceFile", ""}, {"TraceFileSize", "64"}, {"TraceOverflow", "DROP"}, {"EventLog", ""},
+            {"Threads", String.valueOf(Runtime.getRuntime().availableProcessors())}
+    };
+
+    /**
+     * The main method that runs one headless simulation.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        try {
+            Properties settings = parseArguments(args);
+            Trace.setTraceLevel(Trace.Level.valueOf(settings.getProperty("TraceLevel")));
+            double[][] serviceData = readServiceData(settings);
+
+            String output = settings.getProperty("output");
+            PrintStream out = output == null ? System.out : new PrintStream(new FileOutputStream(output));
+            try {
+                // opened once the output is, so that a failing output never leaves the writer thread running
+                AsyncTraceSink traceSink = createTraceSink(settings);
+                try {
+                    run(settings, serviceData, out);
+                } finally {
+                    if (traceSink != null) {
+                        Trace.setSink(null);
+                        traceSink.close();
+                        if (traceSink.getDropped() > 0) {
+                            System.err.println("Warning: " + traceSink.getDropped() + " trace messages were dropped");
+                        }
+                    }
+                }
+            } finally {
+                if (out != System.out) {
+                    out.close();
+                }
+            }
+        } catch (IllegalArgumentException | IOException | ParameterException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: HeadlessMain [--config=<file>] [--output=<file>] [<name>=<value> ...]");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a sweep, replications or a single run, depending on the settings, and writes the results.
+     *
+     * @param settings the resolved settings
+     * @param serviceData the measured service durations of each unit, or null entries for normal service times
+     * @param out the stream to write to
+     * @throws IOException if the event log cannot be written
+     */
+    private static void run(Properties settings, double[][] serviceData, PrintStream out) throws IOException {
+        String eventLog = settings.getProperty("EventLog").trim();
+        boolean single = !isSweep(settings) && getInt(settings, "Replications") <= 1;
+        if (!eventLog.isEmpty() && !single) {
+            throw new IllegalArgumentException("EventLog records a single run, it cannot be combined with Replications or a parameter sweep");
+        }
+        if (isSweep(settings)) {
+            runSweep(settings, serviceData, out);
+        } else if (getInt(settings, "Replications") > 1) {
+            runReplications(settings, serviceData, out);
+        } else {
+            SimulationContext context = isSplittable(settings) ? new SimulationContext(new SplitMixGenerator(getLong(settings, "Seed"))) : new SimulationContext();
+            SimulatorModel model = createModel(settings, serviceData, context);
+            BatchController controller = new BatchController(model, getDouble(settings, "SimulationTime"));
+            if (eventLog.isEmpty()) {
+                controller.run();
+            } else {
+                try (EventLogRecorder recorder = new EventLogRecorder(Path.of(eventLog), model, ModelListener.NONE)) {
+                    model.setListener(recorder);
+                    controller.run();
+                }
+            }
+            controller.printResults(out);
+        }
+    }
+
+    /**
+     * Builds the settings from the defaults, the optional configuration file and the command line.
+     *
+     * @param args the command line arguments
+     * @return the resolved settings
+     * @throws IOException if the configuration file cannot be read
+     */
+    static Properties parseArguments(String[] args) throws IOException {
+        Properties settings = new Properties();
+        for (String[] entry : DEFAULTS) {
+            settings.setProperty(entry[0], entry[1]);
+        }
+
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+            overrides.setProperty(option.substring(0, separator), option.substring(separator + 1));
+        }
+
+        String config = overrides.getProperty("config");
+        if (config != null) {
+            try (InputStream in = Files.newInputStream(Path.of(config))) {
+                settings.load(in);
+            }
+        }
+        settings.putAll(overrides);
+        return settings;
+    }
+
+    /**
+     * Runs independent replications in parallel and writes the aggregated results.
+     *
+     * @param settings the resolved settings
+     * @param serviceData the measured service durations of each unit, or null entries for normal service times
+     * @param out the stream to write to
+     */
+    private static void runReplications(Properties settings, double[][] serviceData, PrintStream out) {
+        ReplicationController controller = new ReplicationController(context -> createModel(settings, serviceData, context),
+                getDouble(settings, "SimulationTime"), getInt(settings, "Replications"), getLong(settings, "Seed"));
+        controller.setParallelism(getInt(settings, "Threads"));
+        controller.setSplittable(isSplittable(settings));
+        controller.run();
+        controller.printResults(out, getDouble(settings, "Confidence"));
+    }
+
+    /**
+     * Checks if any model parameter has more than one value.
+     *
+     * @param settings the resolved settings
+     * @return true if the settings describe a parameter sweep
+     */
+    private static boolean isSweep(Properties settings) {
+        for (String name : SweepController.PARAMETERS) {
+            if (getValues(settings, name).length > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs a parameter sweep over every combination of the parameter values and streams the results as CSV.
+     *
+     * @param settings the resolved settings
+     * @param serviceData the measured service durations of each unit, or null entries for normal service times
+     * @param out the stream to write to
+     */
+    private static void runSweep(Properties settings, double[][] serviceData, PrintStream out) {
+        double[][] values = new double[SweepController.PARAMETERS.length][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getValues(settings, SweepController.PARAMETERS[i]);
+        }
+        SweepController controller = new SweepController(values, getDouble(settings, "SimulationTime"),
+                (parameters, context) -> createModel(settings, parameters, serviceData, context), out);
+        controller.setReplications(getInt(settings, "Replications"));
+        controller.setSeed(getLong(settings, "Seed"));
+        controller.setConfidence(getDouble(settings, "Confidence"));
+        controller.setParallelism(getInt(settings, "Threads"));
+        controller.setSplittable(isSplittable(settings));
+        createModel(settings, controller.getCell(0), serviceData, new SimulationContext());     // rejects invalid options before any worker starts
+        controller.run();
+    }
+
+    /**
+     * Gets the values of a parameter given as a single number, a list {@code a,b,c} or a range {@code min:max[:step]}.
+     *
+     * @param settings the resolved settings
+     * @param name the parameter name
+     * @return the parameter values
+     */
+    static double[] getValues(Properties settings, String name) {
+        String value = settings.getProperty(name).trim();
+        try {
+            if (value.contains(":")) {
+                String[] range = value.split(":");
+                double min = Double.parseDouble(range[0]);
+                double max = Double.parseDouble(range[1]);
+                double step = range.length > 2 ? Double.parseDouble(range[2]) : 1;
+                if (step <= 0 || max < min) {
+                    throw new IllegalArgumentException(name + " must be a range min:max[:step] with min <= max and step > 0");
+                }
+                int count = (int) Math.floor((max - min) / step + 1e-9) + 1;
+                double[] values = new double[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = min + i * step;
+                }
+                return values;
+            }
+            String[] list = value.split(",");
+            double[] values = new double[list.length];
+            for (int i = 0; i < list.length; i++) {
+                values[i] = Double.parseDouble(list[i].trim());
+            }
+            return values;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(name + " must be a number, a list a,b,c or a range min:max[:step]");
+        }
+    }
+
+    /**
+     * Gets the single value of each model parameter.
+     *
+     * @param settings the resolved settings
+     * @return the parameter values, in the order of {@link SweepController#PARAMETERS}
+     */
+    static double[] getParameters(Properties settings) {
+        return new double[]{
+                getInt(settings, "Register"), getDouble(settings, "RegisterTime"),
+                getInt(settings, "General"), getDouble(settings, "GeneralTime"),
+                getInt(settings, "Specialist"), getDouble(settings, "SpecialistTime"),
+                getDouble(settings, "ArrivalTime")};
+    }
+
+    /**
+     * Creates a simulation model from the resolved settings, driving the units with measured service durations where given.
+     *
+     * @param settings the resolved settings
+     * @param serviceData the measured service durations of each unit, or null entries for normal service times
+     * @param context the context of the new simulation run
+     * @return the simulation model
+     */
+    static SimulatorModel createModel(Properties settings, double[][] serviceData, SimulationContext context) {
+        return createModel(settings, getParameters(settings), serviceData, context);
+    }
+
+    /**
+     * Creates a simulation model with the given model parameters and the other options of the resolved settings.
+     * Every run, single, replicated or swept, creates its model here, so a new model option is wired up only once.
+     *
+     * @param settings the resolved settings
+     * @param parameters the model parameters, in the order of {@link SweepController#PARAMETERS}
+     * @param serviceData the measured service durations of each unit, or null entries for normal service times
+     * @param context the context of the new simulation run
+     * @return the simulation model
+     */
+    static SimulatorModel createModel(Properties settings, double[] parameters, double[][] serviceData, SimulationContext context) {
+        context.setNormalMethod(getNormalMethod(settings));
+        context.setSpecialistProbability(getDouble(settings, "SpecialistProbability"));
+        context.setServerSelection(getServerSelection(settings));
+        SimulatorModel model = new SimulatorModel(
+                (int) parameters[0], parameters[1], (int) parameters[2], parameters[3], (int) parameters[4], parameters[5], parameters[6],
+                EventListType.valueOf(settings.getProperty("EventList").trim()).create(getTimeBase(settings)),
+                context);
+        useServiceData(model, serviceData);
+        return model;
+    }
+
+    /**
+     * Replaces the service time generators of the units with measured data by empirical generators of the data,
+     * each with its own stream of the model's run.
+     *
+     * @param model the new simulation model
+     * @param serviceData the measured service durations of each unit, or null entries for normal service times
+     */
+    static void useServiceData(SimulatorModel model, double[][] serviceData) {
+        ServiceUnit[] units = model.getServiceUnits();
+        for (int i = 0; i < units.length; i++) {
+            if (serviceData[i] != null) {
+                units[i].setGenerator(new Empirical(serviceData[i], model.getContext().nextStream(3)));
+            }
+        }
+    }
+
+    /**
+     * Reads the measured service durations named by the RegisterData, GeneralData and SpecialistData settings.
+     *
+     * @param settings the resolved settings
+     * @return the observations of each service unit, null if the unit has no data
+     * @throws IOException if a data file cannot be read
+     */
+    static double[][] readServiceData(Properties settings) throws IOException {
+        String[] names = {"RegisterData", "GeneralData", "SpecialistData"};
+        double[][] data = new double[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            String file = settings.getProperty(names[i]).trim();
+            if (!file.isEmpty()) {
+                data[i] = Empirical.read(Path.of(file));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Creates the sink writing the trace to the file named by the TraceFile setting, and routes the trace to it.
+     *
+     * @param settings the resolved settings
+     * @return the trace sink, or null if the trace goes to the console
+     * @throws IOException if the trace file cannot be opened
+     */
+    static AsyncTraceSink createTraceSink(Properties settings) throws IOException {
+        String file = settings.getProperty("TraceFile").trim();
+        if (file.isEmpty()) {
+            return null;
+        }
+        AsyncTraceSink.Overflow overflow;
+        try {
+            overflow = AsyncTraceSink.Overflow.valueOf(settings.getProperty("TraceOverflow").trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("TraceOverflow must be DROP or BLOCK");
+        }
+        long fileSize = getLong(settings, "TraceFileSize");
+        if (fileSize <= 0 || fileSize > Long.MAX_VALUE >> 20) {
+            throw new IllegalArgumentException("TraceFileSize must be a positive number of megabytes, at most " + (Long.MAX_VALUE >> 20));
+        }
+        AsyncTraceSink sink = new AsyncTraceSink(Path.of(file), 1 << 16, fileSize << 20, 4, overflow);
+        Trace.setSink(sink);
+        return sink;
+    }
+
+    /**
+     * Checks the Generator setting: LEHMER for the spaced seeds of the original generator, SPLITMIX for splittable streams.
+     *
+     * @param settings the resolved settings
+     * @return true if the runs use splittable streams
+     */
+    static boolean isSplittable(Properties settings) {
+        String generator = settings.getProperty("Generator").trim();
+        if (!generator.equals("LEHMER") && !generator.equals("SPLITMIX")) {
+            throw new IllegalArgumentException("Generator must be LEHMER or SPLITMIX");
+        }
+        return generator.equals("SPLITMIX");
+    }
+
+    /**
+     * Gets the algorithm of the normal service times from the NormalMethod setting.
+     *
+     * @param settings the resolved settings
+     * @return the normal method
+     */
+    static NormalMethod getNormalMethod(Properties settings) {
+        try {
+            return NormalMethod.valueOf(settings.getProperty("NormalMethod").trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("NormalMethod must be BOX_MULLER, POLAR or ZIGGURAT");
+        }
+    }
+
+    /**
+     * Gets the policy choosing among idle service points from the ServerSelection setting.
+     *
+     * @param settings the resolved settings
+     * @return the server-selection policy
+     */
+    static ServerSelection getServerSelection(Properties settings) {
+        try {
+            return ServerSelection.valueOf(settings.getProperty("ServerSelection").trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("ServerSelection must be FIRST_FREE, RANDOM or LEAST_BUSY");
+        }
+    }
+
+    /**
+     * Gets the time base from the TickResolution setting, the number of ticks per minute (0 for continuous time).
+     *
+     * @param settings the resolved settings
+     * @return the time base
+     */
+    static TimeBase getTimeBase(Properties settings) {
+        long resolution = Long.parseLong(settings.getProperty("TickResolution").trim());
+        return resolution == 0 ? TimeBase.CONTINUOUS : TimeBase.ticks(resolution);
+    }
+
+    private static int getInt(Properties settings, String name) {
+        try {
+            return Integer.parseInt(settings.getProperty(name).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+    }
+
+    private static long getLong(Properties settings, String name) {
+        try {
+            return Long.parseLong(settings.getProperty(name).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+    }
+
+    private static double getDouble(Properties settings, String name) {
+        try {
+            return Double.parseDouble(settings.getProperty(name).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.simulator.hospital.controller;
+
+import com.simulator.hospital.framework.Clock;
+import com.simulator.hospital.framework.Trace;
+import com.simulator.hospital.model.logic.SimulatorModel;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Controller class for running the simulation without a user interface.
+ * Drives the model through the A, B and C phases as fast as possible, with no
+ * animation delay and no JavaFX dependency, and reports the results as plain text.
+ */
+public class BatchController implements Runnable {
+    private final SimulatorModel simuModel;
+    private final double simulationTime;
+    private long elapsedNanos;
+
+    /**
+     * Constructs a new BatchController for the given model.
+     *
+     * @param simuModel the simulation model to run
+     * @param simulationTime the simulation time in minutes
+     */
+    public BatchController(SimulatorModel simuModel, double simulationTime) {
+        this.simuModel = simuModel;
+        this.simulationTime = simulationTime;
+        this.simuModel.setSimulationTime(simulationTime);
+    }
+
+    /**
+     * Gets the simulation model.
+     *
+     * @return the simulation model
+     */
+    public SimulatorModel getSimuModel() {
+        return simuModel;
+    }
+
+    /**
+     * Gets the wall-clock time spent in the last call to {@link #run()}.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Runs the simulation to completion and computes the results.
+     */
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        Clock clock = simuModel.getClock();
+        simuModel.initialize();
+
+        while (simuModel.simulate()) {
+            // A-phase: advance the clock to the next event
+            clock.setClock(simuModel.currentTime());
+
+            // B-phase: process all events scheduled for the current time
+            while (simuModel.currentTime() == clock.getClock()) {
+                simuModel.runEvent(simuModel.processEvent());
+            }
+
+            // C-phase: start service wherever a service point is free and a customer is waiting
+            simuModel.tryCEvents();
+        }
+        simuModel.results();
+        elapsedNanos = System.nanoTime() - start;
+        Trace.out(Trace.Level.INFO, () -> "Batch run finished in " + elapsedNanos / 1_000_000 + " ms");
+    }
+
+    /**
+     * Writes the results of the last run to the given stream.
+     *
+     * @param out the stream to write to
+     */
+    public void printResults(PrintStream out) {
+        List<Integer> customerCount = simuModel.getCustomerCount();
+        List<Double> utilization = simuModel.getUtilization();
+
+        out.println("simulationTime=" + simulationTime);
+        out.println("avgWaitingTime=" + String.format(Locale.US, "%.4f", simuModel.getAvgWaitingTime()));
+        int point = 0;
+        for (int i = 0; i < simuModel.getServiceUnits().length; i++) {
+            int size = simuModel.getServiceUnits()[i].getServicePoints().size();
+            for (int j = 1; j <= size; j++, point++) {
+                out.println("unit" + (i + 1) + ".point" + j + ".customers=" + customerCount.get(point));
+                out.println("unit" + (i + 1) + ".point" + j + ".utilization=" + utilization.get(point));
+            }
+        }
+        out.println("elapsedMillis=" + String.format(Locale.US, "%.3f", elapsedNanos / 1e6));
+    }
+}
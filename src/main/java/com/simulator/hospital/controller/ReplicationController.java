@@ -0,0 +1,226 @@
+package com.simulator.hospital.controller;
+
+import com.simulator.eduni.distributions.SeedGenerator;
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.framework.SummaryStatistics;
+import com.simulator.hospital.model.logic.SimulatorModel;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Controller class for running independent replications of the same simulation configuration.
+ * The replications run in parallel, each with its own simulation context and its own seed stream,
+ * and their results are aggregated into means, variances and Student-t confidence intervals.
+ * By default the seed streams are spaced parts of the Lehmer generator cycle; with splittable streams
+ * every replication gets its own SplitMix64 generator, from which each random variable is split.
+ */
+public class ReplicationController implements Runnable {
+
+    /**
+     * Number of random numbers between two seeds of the same replication.
+     */
+    public static final int STREAM_SPACING = 100000;
+
+    /**
+     * Maximum number of seeds a replication may draw before overlapping the next replication's stream.
+     */
+    public static final int STREAMS_PER_RUN = 16;
+
+    private final Function<SimulationContext, SimulatorModel> modelFactory;
+    private final double simulationTime;
+    private final int replications;
+    private final long seed;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean splittable = false;
+
+    private SummaryStatistics avgWaitingTime;
+    private List<SummaryStatistics> customerCount;
+    private List<SummaryStatistics> utilization;
+
+    /**
+     * Constructs a new ReplicationController.
+     *
+     * @param modelFactory creates a model for a run from the run's context
+     * @param simulationTime the simulation time of every run in minutes
+     * @param replications the number of replications to run
+     * @param seed the root seed from which the seed streams of all replications are derived
+     */
+    public ReplicationController(Function<SimulationContext, SimulatorModel> modelFactory, double simulationTime, int replications, long seed) {
+        if (replications < 1) {
+            throw new IllegalArgumentException("The number of replications must be positive");
+        }
+        this.modelFactory = modelFactory;
+        this.simulationTime = simulationTime;
+        this.replications = replications;
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the number of replications run at the same time.
+     *
+     * @param parallelism the number of worker threads
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets whether the replications draw their random numbers from splittable SplitMix64 streams
+     * instead of spaced seeds of the Lehmer generator.
+     *
+     * @param splittable true to use splittable streams
+     */
+    public void setSplittable(boolean splittable) {
+        this.splittable = splittable;
+    }
+
+    /**
+     * Runs all replications and aggregates their results.
+     */
+    @Override
+    public void run() {
+        // Draw the seeds up front so the results do not depend on the order in which the runs finish
+        long[] runSeeds = createRunSeeds(seed, replications, splittable);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<SimulatorModel>> runs = new ArrayList<>();
+            for (long runSeed : runSeeds) {
+                runs.add(pool.submit(() -> runReplication(runSeed)));
+            }
+
+            avgWaitingTime = new SummaryStatistics();
+            customerCount = new ArrayList<>();
+            utilization = new ArrayList<>();
+            for (ForkJoinTask<SimulatorModel> run : runs) {
+                addResults(run.join());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs one replication with its own context and seed stream.
+     *
+     * @param runSeed the first seed of the replication's seed stream
+     * @return the model after the run, holding its results
+     */
+    private SimulatorModel runReplication(long runSeed) {
+        SimulationContext context = createContext(runSeed, splittable);
+        SimulatorModel model = modelFactory.apply(context);
+        new BatchController(model, simulationTime).run();
+        return model;
+    }
+
+    /**
+     * Derives the first seed of each replication from the root seed.
+     *
+     * @param seed the root seed
+     * @param count the number of replications
+     * @param splittable true to derive the seeds of splittable streams
+     * @return one seed per replication
+     */
+    static long[] createRunSeeds(long seed, int count, boolean splittable) {
+        long[] runSeeds = new long[count];
+        if (splittable) {
+            SplitMixGenerator root = new SplitMixGenerator(seed);
+            for (int i = 0; i < count; i++) {
+                runSeeds[i] = root.nextLong();
+            }
+        } else {
+            SeedGenerator seeds = new SeedGenerator(seed, STREAM_SPACING * STREAMS_PER_RUN);
+            for (int i = 0; i < count; i++) {
+                runSeeds[i] = seeds.sample();
+            }
+        }
+        return runSeeds;
+    }
+
+    /**
+     * Creates the context of one replication, giving it a seed stream or a splittable generator.
+     *
+     * @param runSeed the first seed of the replication
+     * @param splittable true to give the replication a splittable generator
+     * @return the new context
+     */
+    static SimulationContext createContext(long runSeed, boolean splittable) {
+        return splittable ? new SimulationContext(new SplitMixGenerator(runSeed))
+                : new SimulationContext(new SeedGenerator(runSeed, STREAM_SPACING));
+    }
+
+    /**
+     * Adds the results of one replication to the aggregated statistics.
+     *
+     * @param model the model after the run
+     */
+    private void addResults(SimulatorModel model) {
+        avgWaitingTime.add(model.getAvgWaitingTime());
+        List<Integer> counts = model.getCustomerCount();
+        List<Double> utilizations = model.getUtilization();
+        for (int i = 0; i < counts.size(); i++) {
+            if (customerCount.size() <= i) {
+                customerCount.add(new SummaryStatistics());
+                utilization.add(new SummaryStatistics());
+            }
+            customerCount.get(i).add(counts.get(i));
+            utilization.get(i).add(utilizations.get(i));
+        }
+    }
+
+    /**
+     * Gets the statistics of the average waiting time over all replications.
+     *
+     * @return the average waiting time statistics
+     */
+    public SummaryStatistics getAvgWaitingTime() {
+        return avgWaitingTime;
+    }
+
+    /**
+     * Gets the statistics of the number of customers served by each service point.
+     *
+     * @return one entry per service point
+     */
+    public List<SummaryStatistics> getCustomerCount() {
+        return customerCount;
+    }
+
+    /**
+     * Gets the statistics of the utilization of each service point.
+     *
+     * @return one entry per service point
+     */
+    public List<SummaryStatistics> getUtilization() {
+        return utilization;
+    }
+
+    /**
+     * Writes the aggregated results to the given stream.
+     *
+     * @param out the stream to write to
+     * @param confidence the confidence level of the intervals, e.g. 0.95
+     */
+    public void printResults(PrintStream out, double confidence) {
+        out.println("simulationTime=" + simulationTime);
+        out.println("replications=" + replications);
+        out.println("confidence=" + confidence);
+        printStatistics(out, "avgWaitingTime", avgWaitingTime, confidence);
+        for (int i = 0; i < customerCount.size(); i++) {
+            printStatistics(out, "point" + (i + 1) + ".customers", customerCount.get(i), confidence);
+            printStatistics(out, "point" + (i + 1) + ".utilization", utilization.get(i), confidence);
+        }
+    }
+
+    private static void printStatistics(PrintStream out, String name, SummaryStatistics statistics, double confidence) {
+        out.println(String.format(Locale.US, "%s.mean=%.4f", name, statistics.getMean()));
+        out.println(String.format(Locale.US, "%s.variance=%.4f", name, statistics.getVariance()));
+        out.println(String.format(Locale.US, "%s.ci=[%.4f, %.4f]", name, statistics.getLowerBound(confidence), statistics.getUpperBound(confidence)));
+    }
+}
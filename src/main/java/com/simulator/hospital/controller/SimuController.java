@@ -2,28 +2,32 @@ package com.simulator.hospital.controller;
 
 import com.simulator.hospital.framework.Clock;
 import com.simulator.hospital.framework.Trace;
-import com.simulator.hospital.model.logic.Customer;
-import com.simulator.hospital.model.logic.ServicePoint;
-import com.simulator.hospital.model.logic.ServiceUnit;
+import com.simulator.hospital.model.logic.OutcomeQueue;
 import com.simulator.hospital.model.logic.SimulatorModel;
 import com.simulator.hospital.view.MainMenuViewControl;
 import com.simulator.hospital.view.ResultViewControl;
 import com.simulator.hospital.view.SimuViewControl;
 import javafx.application.Platform;
 
-import java.util.AbstractMap;
 import java.util.List;
 
 /**
  * Controller class for managing the simulation process.
+ * The model runs at full speed on the controller's thread and queues its outcomes, which the view animates
+ * at the speed of its slider; the results can be shown as soon as the model has finished.
  */
 public class SimuController implements Runnable {
+    /**
+     * The number of outcomes the model may run ahead of the animation.
+     */
+    private static final int QUEUE_CAPACITY = 1 << 16;
+
     private SimulatorModel simuModel;
+    private OutcomeQueue outcomes;
     private final MainMenuViewControl menuView;
     private final SimuViewControl simuView;
     private final ResultViewControl resultView;
-    private long delayTime;
-    private final Clock clock;
+    private Clock clock;
     private int numberRegister;
     private int numberGeneral;
     private int numberSpecialist;
@@ -41,8 +45,6 @@ public class SimuController implements Runnable {
     public SimuController(MainMenuViewControl menuView, SimuViewControl simuView, ResultViewControl resultView) {
         this.menuView = menuView;
         this.simuView = simuView;
-        this.clock = Clock.getInstance();
-        this.delayTime = menuView.getDelayTime(); //initialize with initial delay
         this.resultView = resultView;
     }
 
@@ -60,24 +62,18 @@ public class SimuController implements Runnable {
         double simulationTime = menuView.getSimulationTime();
         this.simuModel = new SimulatorModel(numberRegister, avgRegisterTime, numberGeneral, avgGeneralTime, numberSpecialist, avgSpecialistTime, avgArrivalTime);
         this.simuModel.setSimulationTime(simulationTime);
+        this.outcomes = new OutcomeQueue(simuModel, QUEUE_CAPACITY);
+        this.simuModel.setListener(outcomes);
+        this.clock = simuModel.getClock();
     }
 
     /**
-     * Sets a new delay time for the simulation.
+     * Gets the queue of the model's outcomes, which the view animates.
      *
-     * @param delayTime the new delay time in milliseconds
+     * @return the outcome queue
      */
-    public void setDelayTime(long delayTime) {
-        this.delayTime = delayTime;
-    }
-
-    /**
-     * Gets the initial delay time for the simulation.
-     *
-     * @return the delay time in milliseconds
-     */
-    public long getDelayTime() {
-        return delayTime;
+    public OutcomeQueue getOutcomes() {
+        return outcomes;
     }
 
     /**
@@ -94,71 +90,31 @@ public class SimuController implements Runnable {
      */
     @Override
     public void run() {
-        Trace.setTraceLevel(Trace.Level.INFO);
         if (simuModel == null) {
             Trace.out(Trace.Level.ERR, "SimulatorModel is not initialized. Please set up the parameters first.");
             return;
         }
         simuModel.initialize();
 
-        while (simuModel.simulate()) {
+        // the model only waits when it is too far ahead of the animation
+        while (simuModel.simulate() && !Thread.currentThread().isInterrupted()) {
 
             // set clock
             clock.setClock(simuModel.currentTime());
-            // display clock
-            Trace.out(Trace.Level.INFO, "Clock is at " + clock.getClock());
-            Platform.runLater(() -> simuView.displayClock(clock.getClock()));
+            Trace.event(Trace.Level.INFO, clock.getClock(), "Clock is at %s", clock.getClock());
 
-            // Processes all B-events scheduled for the current time
+            // Processes all B-events scheduled for the current time, each queued through customerMoved
             while (simuModel.currentTime() == clock.getClock()) {
-                // process each B-event and display result
-                AbstractMap.SimpleEntry<Customer, ServiceUnit> result = simuModel.runEvent(simuModel.processEvent());        // Execute and remove the event from the list
-                // get necessary value from result
-                int customerId = result.getKey().getId();
-                int serviceUnitNumber = result.getValue() != null ? result.getValue().getIndex() : 0;
-
-                Customer customer = result.getKey();
-                ServiceUnit serviceUnit = result.getValue(); // might return null
-
-                // call display method from view
-                Platform.runLater(() -> {
-                    simuView.displayBEvent(customer, serviceUnit);
-                });
-            }
-
-            // add some delay so here there is delay between 2 phase, wait for animation to complete in phase B in UI
-            try {
-                Thread.sleep(delayTime / 2);
-            } catch (InterruptedException e) {
-//                System.err.println(e);
-                Trace.out(Trace.Level.ERR, "Simulation thread interrupted.");
-                Thread.currentThread().interrupt(); // Reset the interrupted status
-                break; // Exit the loop
+                simuModel.runEvent(simuModel.processEvent());        // Execute and remove the event from the list
             }
 
-            // Processes C-phase events, checking if any service points can begin servicing a customer
-            for (ServiceUnit serviceUnit : simuModel.getServiceUnits()) {
-                // check in the service unit if any service point is available and customer is on queue
-                if (!serviceUnit.isReserved() && serviceUnit.isOnQueue()) {
-                    // start servicing a customer if conditions are met
-                    ServicePoint servicePoint = serviceUnit.beginService();
-                    Customer customer = servicePoint.getCurrentCustomer();
-                    // get necessary value from result and display in view
-                    Trace.out(Trace.Level.INFO, "Customer " + customer.getId() + " is being served at service point " + servicePoint.getId());
-                    Platform.runLater(() -> {
-                        simuView.displayCEvent(customer, servicePoint);
-                    });
-                }
-            }
-            // add some delay so here there is delay between 2 phase, wait for animation to complete in phase B in UI
-            try {
-                Thread.sleep(delayTime / 2);
-            } catch (InterruptedException e) {
-//                System.err.println(e);
-                Trace.out(Trace.Level.ERR, "Simulation thread interrupted.");
-                Thread.currentThread().interrupt(); // Reset the interrupted status
-                break; // Exit the loop
-            }
+            // Processes C-phase events, checking if any service points can begin servicing a customer;
+            // each started service is queued through serviceStarted
+            simuModel.tryCEvents();
+        }
+        outcomes.close();
+        if (Thread.currentThread().isInterrupted()) {
+            Trace.out(Trace.Level.ERR, "Simulation thread interrupted.");
         }
         // Ensure results are printed only if the simulation time is completed
         if (isSimulationTimeCompleted()) {
@@ -169,9 +125,9 @@ public class SimuController implements Runnable {
                 List<Integer> customerCount = simuModel.getCustomerCount();
                 List<Double> utilization = simuModel.getUtilization();
 
-                // Display the results to ResultViewControl
+                // Let the view display the results to ResultViewControl when asked, the animation may still be running
                 resultView.setTable(numberRegister, numberGeneral, numberSpecialist, avgRegisterTime, avgGeneralTime, avgSpecialistTime);
-                resultView.display(avgWaitingTime, customerCount, utilization, simuView.getStage());
+                simuView.setResultsReady(() -> resultView.display(avgWaitingTime, customerCount, utilization, simuView.getStage()));
             });
         }
     }
@@ -0,0 +1,243 @@
+package com.simulator.hospital.controller;
+
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.framework.SummaryStatistics;
+import com.simulator.hospital.model.logic.ServiceUnit;
+import com.simulator.hospital.model.logic.SimulatorModel;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Controller class for evaluating a grid of simulation configurations.
+ * Every combination of the given parameter values is a cell of the grid. Worker threads take
+ * cells from a shared work queue, run them headless, and write one CSV line per cell as soon
+ * as it finishes, so results of long sweeps become available while the sweep is still running.
+ * All cells use the same seeds (common random numbers), so differences between staffing plans
+ * are not blurred by different random streams.
+ */
+public class SweepController implements Runnable {
+
+    /**
+     * Names of the swept parameters, in the order of the SimulatorModel constructor arguments.
+     */
+    public static final String[] PARAMETERS = {"Register", "RegisterTime", "General", "GeneralTime", "Specialist", "SpecialistTime", "ArrivalTime"};
+
+    /**
+     * Positions in {@link #PARAMETERS} of the numbers of service points, which must be positive integers.
+     */
+    private static final int[] SERVICE_POINT_COUNTS = {0, 2, 4};
+
+    private final double[][] values;
+    private final double simulationTime;
+    private final BiFunction<double[], SimulationContext, SimulatorModel> modelFactory;
+    private final PrintStream out;
+    private int replications = 1;
+    private long seed = 4851L;
+    private double confidence = 0.95;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean splittable = false;
+    private final int cellCount;
+
+    /**
+     * Constructs a new SweepController.
+     *
+     * @param values the values of each parameter, in the order of {@link #PARAMETERS}; the numbers of service points must be positive integers
+     * @param simulationTime the simulation time of every run in minutes
+     * @param modelFactory creates a model for a run from the parameter values of its cell, in the order of {@link #PARAMETERS}, and the run's context
+     * @param out the stream the CSV results are written to
+     */
+    public SweepController(double[][] values, double simulationTime, BiFunction<double[], SimulationContext, SimulatorModel> modelFactory, PrintStream out) {
+        if (values.length != PARAMETERS.length) {
+            throw new IllegalArgumentException("Expected values for " + PARAMETERS.length + " parameters");
+        }
+        long cells = 1;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].length == 0) {
+                throw new IllegalArgumentException("No values for " + PARAMETERS[i]);
+            }
+            cells *= values[i].length;
+        }
+        for (int i : SERVICE_POINT_COUNTS) {
+            for (double value : values[i]) {
+                if (value < 1 || value != Math.rint(value) || value > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException(PARAMETERS[i] + " must be a positive integer, not " + format(value));
+                }
+            }
+        }
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many grid cells: " + cells);
+        }
+        this.values = values;
+        this.cellCount = (int) cells;
+        this.simulationTime = simulationTime;
+        this.modelFactory = modelFactory;
+        this.out = out;
+    }
+
+    /**
+     * Sets the number of replications run for each cell.
+     *
+     * @param replications the number of replications
+     */
+    public void setReplications(int replications) {
+        this.replications = replications;
+    }
+
+    /**
+     * Sets the root seed of the seed streams shared by all cells.
+     *
+     * @param seed the root seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the confidence level of the waiting time interval reported for each cell.
+     *
+     * @param confidence the confidence level, e.g. 0.95
+     */
+    public void setConfidence(double confidence) {
+        this.confidence = confidence;
+    }
+
+    /**
+     * Sets the number of cells evaluated at the same time.
+     *
+     * @param parallelism the number of worker threads
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets whether the runs draw their random numbers from splittable SplitMix64 streams.
+     *
+     * @param splittable true to use splittable streams
+     */
+    public void setSplittable(boolean splittable) {
+        this.splittable = splittable;
+    }
+
+    /**
+     * Gets the number of cells in the grid.
+     *
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Runs every cell of the grid and writes the results.
+     */
+    @Override
+    public void run() {
+        long[] runSeeds = ReplicationController.createRunSeeds(seed, replications, splittable);
+
+        out.println(header());
+        AtomicInteger nextCell = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(pool.submit(() -> {
+                    for (int cell = nextCell.getAndIncrement(); cell < cellCount; cell = nextCell.getAndIncrement()) {
+                        String line = runCell(cell, runSeeds);
+                        synchronized (out) {
+                            out.println(line);
+                            out.flush();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sweep cell failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the parameter values of a cell, decoding the cell number digit by digit.
+     *
+     * @param cell the cell number
+     * @return the parameter values, in the order of {@link #PARAMETERS}
+     */
+    public double[] getCell(int cell) {
+        double[] parameters = new double[values.length];
+        for (int i = values.length - 1; i >= 0; i--) {
+            parameters[i] = values[i][cell % values[i].length];
+            cell /= values[i].length;
+        }
+        return parameters;
+    }
+
+    /**
+     * Runs all replications of one cell.
+     *
+     * @param cell the cell number
+     * @param runSeeds the first seed of each replication's seed stream
+     * @return the CSV line with the cell's parameters and results
+     */
+    private String runCell(int cell, long[] runSeeds) {
+        double[] p = getCell(cell);
+        SummaryStatistics waitingTime = new SummaryStatistics();
+        SummaryStatistics served = new SummaryStatistics();
+        SummaryStatistics[] utilization = {new SummaryStatistics(), new SummaryStatistics(), new SummaryStatistics()};
+
+        for (long runSeed : runSeeds) {
+            SimulationContext context = ReplicationController.createContext(runSeed, splittable);
+            SimulatorModel model = modelFactory.apply(p, context);
+            new BatchController(model, simulationTime).run();
+
+            waitingTime.add(model.getAvgWaitingTime());
+            served.add(context.getServedCustomerCount());
+            int point = 0;
+            ServiceUnit[] units = model.getServiceUnits();
+            for (int i = 0; i < units.length; i++) {
+                int size = units[i].getServicePoints().size();
+                double sum = 0;
+                for (int j = 0; j < size; j++, point++) {
+                    sum += model.getUtilization().get(point);
+                }
+                utilization[i].add(size == 0 ? 0 : sum / size);
+            }
+        }
+
+        StringBuilder line = new StringBuilder().append(cell);
+        for (double value : p) {
+            line.append(',').append(format(value));
+        }
+        line.append(',').append(format(waitingTime.getMean()))
+                .append(',').append(replications > 1 ? format(waitingTime.getHalfWidth(confidence)) : "")
+                .append(',').append(format(served.getMean()));
+        for (SummaryStatistics unitUtilization : utilization) {
+            line.append(',').append(format(unitUtilization.getMean()));
+        }
+        return line.toString();
+    }
+
+    private static String header() {
+        return "cell," + String.join(",", PARAMETERS)
+                + ",avgWaitingTime,avgWaitingTimeHalfWidth,servedCustomers,registerUtilization,generalUtilization,specialistUtilization";
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.format(Locale.US, "%.4f", value);
+    }
+}
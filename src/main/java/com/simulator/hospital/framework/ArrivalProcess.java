@@ -6,22 +6,33 @@ import com.simulator.eduni.distributions.ContinuousGenerator;
  * Manages the generation of arrival events in the simulation.
  * Uses a ContinuousGenerator to produce random inter-arrival times
  * and schedules new events in the event list.
+ * Inter-arrival times are drawn from the generator in blocks, which gives the same
+ * values as drawing them one by one but lets the generator use its bulk sampling loop.
  */
 
 public class ArrivalProcess {
 	private ContinuousGenerator generator;			// Generator for producing random inter-arrival times
-	private EventList eventList;
+	private IEventList eventList;
 	private IEventType type;
+	private Clock clock;
 
-	public ArrivalProcess(ContinuousGenerator generator, EventList eventlist, IEventType type) {
+	private static final int BLOCK = 64;
+	private final double[] samples = new double[BLOCK];	// inter-arrival times drawn in advance
+	private int next = BLOCK;							// index of the next unused sample
+
+	public ArrivalProcess(ContinuousGenerator generator, IEventList eventlist, IEventType type, SimulationContext context) {
 		this.generator = generator;
 		this.eventList = eventlist;
 		this.type = type;
+		this.clock = context.getClock();
 	}
 
 	// Generates the next arrival event using the generator's sample and add to eventList
 	public void generateNextEvent() {
-		Event event1 = new Event(type, Clock.getInstance().getClock() + generator.sample());
-		eventList.add(event1);
+		if (next == BLOCK) {
+			generator.sample(samples, 0, BLOCK);
+			next = 0;
+		}
+		eventList.add(type, clock.getClock() + samples[next++]);
 	}
 }
@@ -0,0 +1,386 @@
+package com.simulator.hospital.framework;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Formatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncTraceSink keeps the simulation threads off the file system while tracing.
+ * Every message is copied into a preallocated ring buffer of parallel arrays (level, simulation time,
+ * template and typed fields), so writing a message about a simulation event allocates nothing
+ * and costs a few nanoseconds. A background thread formats the messages and writes them to a file
+ * through a FileChannel, one line per message, rotating the file when it grows beyond a size limit:
+ * the full file is renamed to {@code <file>.1}, the older ones to {@code <file>.2} and so on.
+ * When the buffer is full, a message is either dropped and counted, or the writing thread waits
+ * until the writer has made room, depending on the overflow policy.
+ * A message whose template cannot be formatted with its fields is written as a placeholder line
+ * naming the template and the error, so one bad message never stops the writer.
+ * Several simulation threads may write at the same time.
+ */
+
+public class AsyncTraceSink implements TraceSink, Closeable {
+	/**
+	 * What a writing thread does when the ring buffer is full.
+	 * - DROP: the message is dropped and counted, the simulation never waits for the file system.
+	 * - BLOCK: the thread waits until the writer has made room, no message is lost.
+	 */
+	public enum Overflow {DROP, BLOCK}
+
+	private static final int BATCH = 1024;				// messages formatted before each write
+	private static final long IDLE_NANOS = 100_000;		// pause of the writer, or of a blocked thread, when there is nothing to do
+	private static final Trace.Level[] LEVELS = Trace.Level.values();
+
+	// the fields of a message, which decide how its template is formatted
+	private static final byte PLAIN = 0, INT = 1, INT_INT = 2, INT_DOUBLE = 3, DOUBLE = 4, INT_OBJECT = 5;
+
+	private final int mask;
+	private final AtomicLongArray sequences;	// position + 1 once slot i is written, position + capacity once it is free again
+	private final byte[] levels;
+	private final double[] times;
+	private final String[] templates;
+	private final byte[] shapes;			// the fields of each message
+	private final int[] firsts;
+	private final int[] seconds;
+	private final double[] values;
+	private final Object[] objects;
+	private final AtomicLong head = new AtomicLong();		// next position to be claimed by a writing thread
+	private long tail;										// next position to be read, only used by the writer
+
+	private final Path file;
+	private final long maxFileSize;
+	private final int files;
+	private final Overflow overflow;
+	private final LongAdder dropped = new LongAdder();
+	private final Thread writer;
+	private FileChannel channel;
+	private volatile boolean closed;
+	private volatile boolean stopped;		// set once the writer has stopped, normally or not
+	private volatile IOException failure;
+
+	/**
+	 * Creates a sink with a buffer of 65536 messages, keeping four files of at most 64 MB and dropping
+	 * messages when the buffer is full.
+	 *
+	 * @param file the file the messages are written to, replaced if it exists.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public AsyncTraceSink(Path file) throws IOException {
+		this(file, 1 << 16, 64L << 20, 4, Overflow.DROP);
+	}
+
+	/**
+	 * Creates a sink and starts its writer thread.
+	 *
+	 * @param file        the file the messages are written to, replaced if it exists.
+	 * @param capacity    the number of messages the buffer holds, rounded up to a power of two.
+	 * @param maxFileSize the size in bytes after which the file is rotated; a file may exceed it by one batch of messages.
+	 * @param files       the number of files kept, including the current one.
+	 * @param overflow    what to do when the buffer is full.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public AsyncTraceSink(Path file, int capacity, long maxFileSize, int files, Overflow overflow) throws IOException {
+		if (capacity < 1 || capacity > 1 << 30 || maxFileSize < 1 || files < 1) {
+			throw new IllegalArgumentException("The capacity, file size and number of files must be positive");
+		}
+		int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		mask = size - 1;
+		sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+		levels = new byte[size];
+		times = new double[size];
+		templates = new String[size];
+		shapes = new byte[size];
+		firsts = new int[size];
+		seconds = new int[size];
+		values = new double[size];
+		objects = new Object[size];
+
+		this.file = file;
+		this.maxFileSize = maxFileSize;
+		this.files = files;
+		this.overflow = overflow;
+		channel = open();
+		writer = new Thread(this::drain, "trace-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@Override
+	public void write(Trace.Level lvl, double time, String message) {
+		long position = claim();
+		if (position >= 0) {
+			publish(fill(position, lvl, time, message, PLAIN), position);
+		}
+	}
+
+	@Override
+	public void write(Trace.Level lvl, double time, String template, int value) {
+		long position = claim();
+		if (position >= 0) {
+			int i = fill(position, lvl, time, template, INT);
+			firsts[i] = value;
+			publish(i, position);
+		}
+	}
+
+	@Override
+	public void write(Trace.Level lvl, double time, String template, int first, int second) {
+		long position = claim();
+		if (position >= 0) {
+			int i = fill(position, lvl, time, template, INT_INT);
+			firsts[i] = first;
+			seconds[i] = second;
+			publish(i, position);
+		}
+	}
+
+	@Override
+	public void write(Trace.Level lvl, double time, String template, int first, double second) {
+		long position = claim();
+		if (position >= 0) {
+			int i = fill(position, lvl, time, template, INT_DOUBLE);
+			firsts[i] = first;
+			values[i] = second;
+			publish(i, position);
+		}
+	}
+
+	@Override
+	public void write(Trace.Level lvl, double time, String template, double value) {
+		long position = claim();
+		if (position >= 0) {
+			int i = fill(position, lvl, time, template, DOUBLE);
+			values[i] = value;
+			publish(i, position);
+		}
+	}
+
+	@Override
+	public void write(Trace.Level lvl, double time, String template, int first, Object second) {
+		long position = claim();
+		if (position >= 0) {
+			int i = fill(position, lvl, time, template, INT_OBJECT);
+			firsts[i] = first;
+			objects[i] = second;
+			publish(i, position);
+		}
+	}
+
+	/**
+	 * Gets the number of messages dropped because the buffer was full, the sink was closed or the file could not be written.
+	 *
+	 * @return the number of dropped messages.
+	 */
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Writes the messages left in the buffer, stops the writer and closes the file.
+	 * Messages written after closing are dropped.
+	 *
+	 * @throws IOException if a message could not be written, or the writer failed.
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		LockSupport.unpark(writer);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while closing the trace file");
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	// Writes the fields every message has into the slot of a claimed position, and returns the slot
+	private int fill(long position, Trace.Level lvl, double time, String template, byte shape) {
+		int i = (int) position & mask;
+		levels[i] = (byte) lvl.ordinal();
+		times[i] = time;
+		templates[i] = template;
+		shapes[i] = shape;
+		return i;
+	}
+
+	// Publishes a written slot to the writer
+	private void publish(int i, long position) {
+		sequences.set(i, position + 1);
+	}
+
+	// Claims the next free slot of the buffer, or returns -1 if the message is dropped
+	private long claim() {
+		if (closed || stopped) {
+			dropped.increment();
+			return -1;
+		}
+		long position = head.get();
+		while (true) {
+			long difference = sequences.get((int) position & mask) - position;
+			if (difference == 0) {
+				if (head.compareAndSet(position, position + 1)) {
+					return position;
+				}
+			} else if (difference < 0) {		// the slot still holds the message written one round earlier
+				if (overflow == Overflow.DROP || closed || stopped) {
+					dropped.increment();
+					return -1;
+				}
+				LockSupport.parkNanos(IDLE_NANOS);
+			}
+			position = head.get();
+		}
+	}
+
+	// The loop of the writer thread: formats the published messages in batches and writes them to the file
+	private void drain() {
+		StringBuilder text = new StringBuilder(1 << 16);
+		Formatter formatter = new Formatter(text, Locale.US);
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+		try {
+			while (true) {
+				boolean stopping = closed;		// read first, so that messages published before closing are still written
+				int count = 0;
+				int i = (int) tail & mask;
+				while (count < BATCH && sequences.get(i) == tail + 1) {
+					if (!Double.isNaN(times[i])) {
+						text.append(times[i]).append(' ');
+					}
+					text.append(LEVELS[levels[i]]).append(' ');
+					int start = text.length();
+					try {
+						format(formatter, text, i);
+					} catch (RuntimeException e) {		// e.g. an IllegalFormatException, or a failing toString of a field
+						text.setLength(start);
+						text.append("Unformattable message \"").append(templates[i]).append("\": ").append(e);
+					}
+					text.append('\n');
+					templates[i] = null;
+					objects[i] = null;
+					sequences.set(i, tail + mask + 1);		// frees the slot for the next round
+					tail++;
+					count++;
+					i = (int) tail & mask;
+				}
+				if (count > 0) {
+					writeText(text, encoder, buffer);
+					text.setLength(0);
+				} else if (stopping) {
+					break;
+				} else {
+					LockSupport.parkNanos(IDLE_NANOS);
+				}
+			}
+		} catch (IOException e) {
+			failure = e;
+			discard();
+		} catch (RuntimeException e) {
+			failure = new IOException("The trace writer failed", e);
+			discard();
+		} finally {
+			stopped = true;
+			try {
+				channel.close();
+			} catch (IOException e) {
+				if (failure == null) {
+					failure = e;
+				}
+			}
+		}
+	}
+
+	// Formats the template of the message in slot i with the fields of its shape into the text
+	private void format(Formatter formatter, StringBuilder text, int i) {
+		switch (shapes[i]) {
+			case INT:
+				formatter.format(templates[i], firsts[i]);
+				break;
+			case INT_INT:
+				formatter.format(templates[i], firsts[i], seconds[i]);
+				break;
+			case INT_DOUBLE:
+				formatter.format(templates[i], firsts[i], values[i]);
+				break;
+			case DOUBLE:
+				formatter.format(templates[i], values[i]);
+				break;
+			case INT_OBJECT:
+				formatter.format(templates[i], firsts[i], objects[i]);
+				break;
+			default:
+				text.append(templates[i]);
+		}
+	}
+
+	// Encodes the text into the file, first rotating the file if it has grown beyond its size limit
+	private void writeText(StringBuilder text, CharsetEncoder encoder, ByteBuffer buffer) throws IOException {
+		if (channel.position() >= maxFileSize) {
+			rotate();
+		}
+		CharBuffer chars = CharBuffer.wrap(text);
+		CoderResult result;
+		do {
+			result = encoder.encode(chars, buffer, true);
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		} while (result.isOverflow());
+		encoder.reset();
+	}
+
+	private void rotate() throws IOException {
+		channel.close();
+		for (int k = files - 1; k > 0; k--) {
+			Path from = k == 1 ? file : rotated(k - 1);
+			if (Files.exists(from)) {
+				Files.move(from, rotated(k), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		channel = open();
+	}
+
+	private Path rotated(int k) {
+		return file.resolveSibling(file.getFileName() + "." + k);
+	}
+
+	private FileChannel open() throws IOException {
+		return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	// Frees the published slots after a write failure, so that blocked threads can go on dropping messages
+	private void discard() {
+		int i = (int) tail & mask;
+		while (sequences.get(i) == tail + 1) {
+			templates[i] = null;
+			objects[i] = null;
+			sequences.set(i, tail + mask + 1);
+			tail++;
+			dropped.increment();
+			i = (int) tail & mask;
+		}
+	}
+}
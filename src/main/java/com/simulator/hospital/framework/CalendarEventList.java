@@ -0,0 +1,309 @@
+package com.simulator.hospital.framework;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * CalendarEventList is an event list implemented as a calendar queue (R. Brown, 1988).
+ * Events are hashed by time into buckets of a fixed width, one "day" each, and every bucket
+ * keeps its events in a short sorted list. The number of buckets and their width are
+ * recomputed whenever the number of events doubles or halves, so adding and removing
+ * events stays amortized O(1) as the pending set grows.
+ * Within a bucket, simultaneous events are kept in insertion order.
+ * Events are stored in primitive arrays and the Event returned by remove() is reused.
+ */
+
+public class CalendarEventList implements IEventList {
+	private static final int MIN_BUCKETS = 2;
+	private static final int WIDTH_SAMPLE = 25;	// number of earliest events used to estimate the bucket width
+	private static final int NONE = -1;
+
+	// Event nodes; free nodes are chained through next
+	private double[] times;				// time rounded to the time base, used to find the bucket
+	private long[] keys;
+	private long[] sequences;
+	private int[] types;
+	private int[] customers;			// customer id of each event
+	private int[] points;				// service point index of each event
+	private int[] next;
+	private int free = NONE;
+	private int used;
+	private long sequence;
+
+	private final TimeBase timeBase;
+
+	// Calendar
+	private int[] buckets;				// first node of each bucket, sorted by time
+	private double width = 1.0;			// length of time covered by one bucket
+	private int size;
+
+	// Position of the last minimum found, where the search for the next one starts
+	private int lastBucket;
+	private double lastTime;
+	private int cachedMin = NONE;		// node holding the minimum, if already known
+
+	private IEventType[] typeTable = new IEventType[8];
+	private int typeCount;
+
+	private final Event current = new Event(null, 0);
+
+	public CalendarEventList() {
+		this(TimeBase.CONTINUOUS);
+	}
+
+	public CalendarEventList(TimeBase timeBase) {
+		this.timeBase = timeBase;
+		times = new double[64];
+		keys = new long[64];
+		sequences = new long[64];
+		types = new int[64];
+		customers = new int[64];
+		points = new int[64];
+		next = new int[64];
+		buckets = new int[MIN_BUCKETS];
+		Arrays.fill(buckets, NONE);
+	}
+
+	// Adds the type, time, customer and service point of an existing event to the calendar
+	public void add(Event t) {
+		add(t.getType(), t.getTime(), t.getCustomerId(), t.getServicePointIndex());
+	}
+
+	// Schedules an event of the given type and time without creating an Event object
+	public void add(IEventType type, double time) {
+		add(type, time, Event.NONE, Event.NONE);
+	}
+
+	// Schedules an event concerning a customer at a service point without creating an Event object
+	public void add(IEventType type, double time, int customerId, int servicePointIndex) {
+		int node = allocate();
+		long key = timeBase.toKey(time);
+		time = timeBase.toTime(key);
+		times[node] = time;
+		keys[node] = key;
+		sequences[node] = sequence++;
+		types[node] = typeId(type);
+		customers[node] = customerId;
+		points[node] = servicePointIndex;
+		insert(node);
+		size++;
+
+		if (cachedMin != NONE && before(node, cachedMin)) {
+			cachedMin = NONE;
+		}
+		if (time < lastTime) {		// an event earlier than the search position moves it back
+			lastTime = time;
+			lastBucket = bucketOf(time);
+		}
+		if (size > 2 * buckets.length) {
+			resize(buckets.length * 2);
+		}
+	}
+
+	// Removes the earliest event and returns it in the reused Event object
+	public Event remove() {
+		int node = findMin();
+		int bucket = bucketOf(times[node]);
+		buckets[bucket] = next[node];		// the minimum is always the head of its bucket
+		cachedMin = NONE;
+		size--;
+
+		current.setTime(times[node]);
+		current.setKey(keys[node]);
+		current.setSequence(sequences[node]);
+		current.setType(typeTable[types[node]]);
+		current.setCustomerId(customers[node]);
+		current.setServicePointIndex(points[node]);
+		release(node);
+
+		if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) {
+			resize(buckets.length / 2);
+		}
+		return current;
+	}
+
+	// Returns the time of the next event in the event list
+	public double getNextEventTime() {
+		return times[findMin()];
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public TimeBase getTimeBase() {
+		return timeBase;
+	}
+
+	// Returns the node with the earliest time, scanning forward one bucket ("day") at a time from the last minimum
+	private int findMin() {
+		if (cachedMin != NONE) {
+			return cachedMin;
+		}
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		int bucket = lastBucket;
+		long day = dayOf(lastTime);
+		for (int i = 0; i < buckets.length; i++) {
+			int head = buckets[bucket];
+			if (head != NONE && dayOf(times[head]) <= day) {
+				return found(head, bucket);
+			}
+			bucket = (bucket + 1) & (buckets.length - 1);
+			day++;
+		}
+
+		// Nothing within a whole "year": fall back to a direct search of the bucket heads
+		int min = NONE;
+		for (int head : buckets) {
+			if (head != NONE && (min == NONE || before(head, min))) {
+				min = head;
+			}
+		}
+		return found(min, bucketOf(times[min]));
+	}
+
+	private int found(int node, int bucket) {
+		lastBucket = bucket;
+		lastTime = times[node];
+		cachedMin = node;
+		return node;
+	}
+
+	// True if node a comes before node b: earlier key, or the same key and inserted earlier
+	private boolean before(int a, int b) {
+		return keys[a] != keys[b] ? keys[a] < keys[b] : sequences[a] < sequences[b];
+	}
+
+	// Inserts a node into its bucket, keeping the bucket sorted
+	private void insert(int node) {
+		int bucket = bucketOf(times[node]);
+		int head = buckets[bucket];
+		if (head == NONE || before(node, head)) {
+			next[node] = head;
+			buckets[bucket] = node;
+			return;
+		}
+		int prev = head;
+		while (next[prev] != NONE && before(next[prev], node)) {
+			prev = next[prev];
+		}
+		next[node] = next[prev];
+		next[prev] = node;
+	}
+
+	// Returns the number of the bucket-wide "day" the time falls in; days wrap around the buckets every "year"
+	private long dayOf(double time) {
+		return (long) (time / width);
+	}
+
+	private int bucketOf(double time) {
+		return (int) (dayOf(time) & (buckets.length - 1));
+	}
+
+	// Rebuilds the calendar with a new number of buckets and a bucket width estimated from the earliest events
+	private void resize(int bucketCount) {
+		int[] nodes = new int[size];
+		int count = 0;
+		for (int head : buckets) {
+			for (int node = head; node != NONE; node = next[node]) {
+				nodes[count++] = node;
+			}
+		}
+
+		width = estimateWidth(nodes, count);
+		buckets = new int[bucketCount];
+		Arrays.fill(buckets, NONE);
+		for (int i = 0; i < count; i++) {
+			insert(nodes[i]);
+		}
+		cachedMin = NONE;
+		if (count > 0) {
+			int min = nodes[0];
+			for (int i = 1; i < count; i++) {
+				if (before(nodes[i], min)) {
+					min = nodes[i];
+				}
+			}
+			lastTime = times[min];
+		}
+		lastBucket = bucketOf(lastTime);
+	}
+
+	// Three times the average separation of the earliest events, ignoring separations that are unusually large
+	private double estimateWidth(int[] nodes, int count) {
+		int k = Math.min(count, WIDTH_SAMPLE);
+		if (k < 2) {
+			return width;
+		}
+		double[] earliest = new double[k];
+		int filled = 0;
+		for (int i = 0; i < count; i++) {		// insertion sort keeping only the k earliest times
+			double time = times[nodes[i]];
+			if (filled == k && time >= earliest[k - 1]) {
+				continue;
+			}
+			int j = filled < k ? filled++ : k - 1;
+			while (j > 0 && earliest[j - 1] > time) {
+				earliest[j] = earliest[j - 1];
+				j--;
+			}
+			earliest[j] = time;
+		}
+
+		double average = (earliest[k - 1] - earliest[0]) / (k - 1);
+		double sum = 0;
+		int separations = 0;
+		for (int i = 1; i < k; i++) {
+			double separation = earliest[i] - earliest[i - 1];
+			if (separation <= 2 * average) {
+				sum += separation;
+				separations++;
+			}
+		}
+		double estimate = separations > 0 ? 3 * sum / separations : 0;
+		return estimate > 0 ? estimate : width;
+	}
+
+	private int allocate() {
+		if (free != NONE) {
+			int node = free;
+			free = next[node];
+			return node;
+		}
+		if (used == times.length) {
+			times = Arrays.copyOf(times, used * 2);
+			keys = Arrays.copyOf(keys, used * 2);
+			sequences = Arrays.copyOf(sequences, used * 2);
+			types = Arrays.copyOf(types, used * 2);
+			customers = Arrays.copyOf(customers, used * 2);
+			points = Arrays.copyOf(points, used * 2);
+			next = Arrays.copyOf(next, used * 2);
+		}
+		return used++;
+	}
+
+	private void release(int node) {
+		next[node] = free;
+		free = node;
+	}
+
+	// Returns the id of an event type, registering it on first use
+	private int typeId(IEventType type) {
+		for (int i = 0; i < typeCount; i++) {
+			if (typeTable[i] == type) {
+				return i;
+			}
+		}
+		if (typeCount == typeTable.length) {
+			typeTable = Arrays.copyOf(typeTable, typeCount * 2);
+		}
+		typeTable[typeCount] = type;
+		return typeCount++;
+	}
+}
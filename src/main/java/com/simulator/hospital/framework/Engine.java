@@ -1,24 +1,21 @@
 package com.simulator.hospital.framework;
 
-import com.simulator.hospital.model.logic.Customer;
-import com.simulator.hospital.model.logic.ServicePoint;
-import com.simulator.hospital.model.logic.ServiceUnit;
-
-import java.util.HashMap;
-
 /**
  * Abstract class Engine provides the core structure and logic for running a simulation.
  * It defines the main loop and manages the simulation time, clock, and event list.
- * Concrete subclasses must implement the abstract methods to define specific simulation behavior.
+ * Concrete subclasses must implement the abstract methods to define specific simulation behavior,
+ * and report the outcome of their events through callbacks rather than result objects.
  */
 
 public abstract class Engine {
 	private double simulationTime = 0;	// time when the simulation will be stopped
-	private Clock clock;				// to simplify the code (clock.getClock() instead Clock.getInstance().getClock())
-	protected EventList eventList;		// events to be processed are stored here
+	protected SimulationContext context;	// state of this run: clock, id counters and statistics
+	private Clock clock;				// to simplify the code (clock.getClock() instead context.getClock().getClock())
+	protected IEventList eventList;		// events to be processed are stored here
 
 	public Engine() {
-		clock = Clock.getInstance();
+		context = new SimulationContext();
+		clock = context.getClock();
 		
 		eventList = new EventList();
 
@@ -33,14 +30,15 @@ public abstract class Engine {
 		initialize();		// Set up the initial state, e.g., generate the first event
 
 		while (simulate()) {		// Continue simulation while within the time limit
-			Trace.out(Trace.Level.INFO, "\nA-phase: time is " + currentTime());
-			clock.setClock(currentTime());		// Continue simulation while within the time limit
+			double time = currentTime();
+			Trace.event(Trace.Level.INFO, time, "\nA-phase: time is %s", time);
+			clock.setClock(time);		// Continue simulation while within the time limit
 			
-			Trace.out(Trace.Level.INFO, "\nB-phase:" );
+			Trace.out(Trace.Level.INFO, "\nB-phase:");
 			runBEvents();		// Execute all B-events at the current time
 
 
-			Trace.out(Trace.Level.INFO, "\nC-phase:" );
+			Trace.out(Trace.Level.INFO, "\nC-phase:");
 			tryCEvents();		// Attempt to execute all eligible C-events
 
 		}
@@ -65,9 +63,9 @@ public abstract class Engine {
 		return clock.getClock() < simulationTime;
 	}
 
-	protected abstract HashMap<Customer, ServiceUnit> runEvent(Event t);	// Defined in simu.model-package's class who is inheriting the Engine class
+	protected abstract void runEvent(Event t);	// Defined in simu.model-package's class who is inheriting the Engine class
 
-	protected abstract HashMap<Customer, ServicePoint> tryCEvents();		// Defined in simu.model-package's class who is inheriting the Engine class
+	protected abstract void tryCEvents();		// Defined in simu.model-package's class who is inheriting the Engine class
 
 	protected abstract void initialize(); 		// Defined in simu.model-package's class who is inheriting the Engine class
 
@@ -3,15 +3,31 @@ package com.simulator.hospital.framework;
 /**
  * Even class represents a simulation event with a type and time,
  * enabling chronological sorting for proper processing.
+ * Events are ordered by a long key derived from the time (see TimeBase) and,
+ * for simultaneous events, by a sequence number assigned by the event list, so ties are FIFO.
+ * An event can carry the id of the customer and the index of the service point it concerns,
+ * so a departure is handled without searching for them; both are NONE when not used.
  */
 
 public class Event implements Comparable<Event> {
+	public static final int NONE = -1;	// customer id or service point index of an event that has none
+
 	private IEventType type;
 	private double time;
-	
+	private long key;		// ordering key of the time
+	private long sequence;	// insertion order, breaks ties between simultaneous events
+	private int customerId = NONE;			// customer the event concerns
+	private int servicePointIndex = NONE;	// index of the service point within its unit
+
 	public Event(IEventType type, double time){
 		this.type = type;
-		this.time = time;
+		setTime(time);
+	}
+
+	public Event(IEventType type, double time, int customerId, int servicePointIndex){
+		this(type, time);
+		this.customerId = customerId;
+		this.servicePointIndex = servicePointIndex;
 	}
 
 	// Getter and Setter
@@ -21,18 +37,43 @@ public class Event implements Comparable<Event> {
 	public IEventType getType() {
 		return type;
 	}
+	// Sets the time and its key in the continuous time base
 	public void setTime(double time) {
 		this.time = time;
+		this.key = TimeBase.CONTINUOUS.toKey(time);
 	}
 	public double getTime() {
 		return time;
 	}
+	public void setKey(long key) {
+		this.key = key;
+	}
+	public long getKey() {
+		return key;
+	}
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+	public long getSequence() {
+		return sequence;
+	}
+	public void setCustomerId(int customerId) {
+		this.customerId = customerId;
+	}
+	public int getCustomerId() {
+		return customerId;
+	}
+	public void setServicePointIndex(int servicePointIndex) {
+		this.servicePointIndex = servicePointIndex;
+	}
+	public int getServicePointIndex() {
+		return servicePointIndex;
+	}
 
 	// Compares this event with another event based on their scheduled times, used to sort events in a priority queue
 	@Override
 	public int compareTo(Event arg) {
-		if (this.time < arg.time) return -1;
-		else if (this.time > arg.time) return 1;
-		return 0;
+		if (this.key != arg.key) return this.key < arg.key ? -1 : 1;
+		return Long.compare(this.sequence, arg.sequence);
 	}
 }
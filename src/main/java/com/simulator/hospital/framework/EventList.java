@@ -8,13 +8,20 @@ import java.util.PriorityQueue;
  * earliest time is processed first.
  */
 
-public class EventList {
+public class EventList implements IEventList {
 
 	// Priority queue to store and manage events in chronological order
 	private PriorityQueue<Event> eventlist;
+	private final TimeBase timeBase;
+	private long sequence;		// next insertion sequence number
 	
 	public EventList() {
+		this(TimeBase.CONTINUOUS);
+	}
+
+	public EventList(TimeBase timeBase) {
 		eventlist = new PriorityQueue<>();
+		this.timeBase = timeBase;
 	}
 
 	// Removes and returns the event at the front of the event list (earliest event) and logs the action using the Trace class
@@ -27,11 +34,39 @@ public class EventList {
 
 	public void add(Event t) {
 //		Trace.out(Trace.Level.INFO,"Adding to the event list " + t.getType() + " " + t.getTime());
+		long key = timeBase.toKey(t.getTime());
+		t.setTime(timeBase.toTime(key));
+		t.setKey(key);
+		t.setSequence(sequence++);
 		eventlist.add(t);
 	}
 
+	// Creates a new event of the given type and time and adds it to the event list
+	public void add(IEventType type, double time) {
+		add(new Event(type, time));
+	}
+
+	// Creates a new event concerning a customer at a service point and adds it to the event list
+	public void add(IEventType type, double time, int customerId, int servicePointIndex) {
+		add(new Event(type, time, customerId, servicePointIndex));
+	}
+
 	// Returns the time of the next event in the event list
 	public double getNextEventTime(){
 		return eventlist.peek().getTime();
 	}
+
+	// Returns true if no events are scheduled
+	public boolean isEmpty() {
+		return eventlist.isEmpty();
+	}
+
+	// Returns the number of scheduled events
+	public int size() {
+		return eventlist.size();
+	}
+
+	public TimeBase getTimeBase() {
+		return timeBase;
+	}
 }
@@ -0,0 +1,29 @@
+package com.simulator.hospital.framework;
+
+/**
+ * EventListType selects the event list implementation used by a simulation.
+ * - PRIORITY_QUEUE: java.util.PriorityQueue of Event objects.
+ * - HEAP: 4-ary heap over primitive arrays that allocates nothing per event.
+ * - CALENDAR: calendar queue with amortized O(1) scheduling for large pending sets.
+ */
+
+public enum EventListType {
+	PRIORITY_QUEUE, HEAP, CALENDAR;
+
+	// Creates a new, empty event list of this type with the continuous time base
+	public IEventList create() {
+		return create(TimeBase.CONTINUOUS);
+	}
+
+	// Creates a new, empty event list of this type with the given time base
+	public IEventList create(TimeBase timeBase) {
+		switch (this) {
+			case HEAP:
+				return new HeapEventList(timeBase);
+			case CALENDAR:
+				return new CalendarEventList(timeBase);
+			default:
+				return new EventList(timeBase);
+		}
+	}
+}
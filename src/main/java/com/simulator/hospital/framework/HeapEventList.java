@@ -0,0 +1,180 @@
+package com.simulator.hospital.framework;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * HeapEventList is an event list backed by a 4-ary min-heap over parallel primitive arrays.
+ * Event times are kept as long keys of the time base with a long insertion sequence number,
+ * event types as int ids into a small type table, and the customer id and service point index
+ * of each event as ints, so scheduling and removing events
+ * allocates nothing once the arrays have grown to size.
+ * The Event returned by remove() is reused and only valid until the next call.
+ */
+
+public class HeapEventList implements IEventList {
+	private static final int ARITY = 4;
+
+	private long[] keys;				// time key of each heap slot
+	private long[] sequences;			// insertion sequence number of each heap slot
+	private int[] types;				// index into typeTable of each heap slot
+	private int[] customers;			// customer id of each heap slot
+	private int[] points;				// service point index of each heap slot
+	private int size;
+	private long sequence;
+
+	private final TimeBase timeBase;
+
+	private IEventType[] typeTable = new IEventType[8];	// event types seen so far, looked up by id
+	private int typeCount;
+
+	private final Event current = new Event(null, 0);	// reused result of remove()
+
+	public HeapEventList() {
+		this(TimeBase.CONTINUOUS);
+	}
+
+	public HeapEventList(TimeBase timeBase) {
+		this(timeBase, 64);
+	}
+
+	public HeapEventList(TimeBase timeBase, int initialCapacity) {
+		this.timeBase = timeBase;
+		keys = new long[Math.max(initialCapacity, ARITY)];
+		sequences = new long[keys.length];
+		types = new int[keys.length];
+		customers = new int[keys.length];
+		points = new int[keys.length];
+	}
+
+	// Adds the type, time, customer and service point of an existing event to the heap
+	public void add(Event t) {
+		add(t.getType(), t.getTime(), t.getCustomerId(), t.getServicePointIndex());
+	}
+
+	// Schedules an event of the given type and time without creating an Event object
+	public void add(IEventType type, double time) {
+		add(type, time, Event.NONE, Event.NONE);
+	}
+
+	// Schedules an event concerning a customer at a service point without creating an Event object
+	public void add(IEventType type, double time, int customerId, int servicePointIndex) {
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			sequences = Arrays.copyOf(sequences, size * 2);
+			types = Arrays.copyOf(types, size * 2);
+			customers = Arrays.copyOf(customers, size * 2);
+			points = Arrays.copyOf(points, size * 2);
+		}
+		siftUp(size++, timeBase.toKey(time), sequence++, typeId(type), customerId, servicePointIndex);
+	}
+
+	// Removes the earliest event and returns it in the reused Event object
+	public Event remove() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		current.setTime(timeBase.toTime(keys[0]));
+		current.setKey(keys[0]);
+		current.setSequence(sequences[0]);
+		current.setType(typeTable[types[0]]);
+		current.setCustomerId(customers[0]);
+		current.setServicePointIndex(points[0]);
+		size--;
+		if (size > 0) {
+			siftDown(0, keys[size], sequences[size], types[size], customers[size], points[size]);
+		}
+		return current;
+	}
+
+	// Returns the time of the next event in the event list
+	public double getNextEventTime() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return timeBase.toTime(keys[0]);
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public TimeBase getTimeBase() {
+		return timeBase;
+	}
+
+	// True if the slot comes before the given key and sequence; keys only tie for simultaneous events
+	private boolean before(int slot, long key, long seq) {
+		return keys[slot] != key ? keys[slot] < key : sequences[slot] < seq;
+	}
+
+	// Moves the hole at index up until the parent comes first, then fills it
+	private void siftUp(int index, long key, long seq, int type, int customer, int point) {
+		while (index > 0) {
+			int parent = (index - 1) / ARITY;
+			if (before(parent, key, seq)) {
+				break;
+			}
+			move(parent, index);
+			index = parent;
+		}
+		set(index, key, seq, type, customer, point);
+	}
+
+	// Moves the hole at index down to the earliest child until the event fits, then fills it
+	private void siftDown(int index, long key, long seq, int type, int customer, int point) {
+		while (true) {
+			int first = index * ARITY + 1;
+			if (first >= size) {
+				break;
+			}
+			int last = Math.min(first + ARITY, size);
+			int min = first;
+			for (int child = first + 1; child < last; child++) {
+				if (before(child, keys[min], sequences[min])) {
+					min = child;
+				}
+			}
+			if (!before(min, key, seq)) {
+				break;
+			}
+			move(min, index);
+			index = min;
+		}
+		set(index, key, seq, type, customer, point);
+	}
+
+	private void move(int from, int to) {
+		keys[to] = keys[from];
+		sequences[to] = sequences[from];
+		types[to] = types[from];
+		customers[to] = customers[from];
+		points[to] = points[from];
+	}
+
+	private void set(int index, long key, long seq, int type, int customer, int point) {
+		keys[index] = key;
+		sequences[index] = seq;
+		types[index] = type;
+		customers[index] = customer;
+		points[index] = point;
+	}
+
+	// Returns the id of an event type, registering it on first use; models only have a handful of types
+	private int typeId(IEventType type) {
+		for (int i = 0; i < typeCount; i++) {
+			if (typeTable[i] == type) {
+				return i;
+			}
+		}
+		if (typeCount == typeTable.length) {
+			typeTable = Arrays.copyOf(typeTable, typeCount * 2);
+		}
+		typeTable[typeCount] = type;
+		return typeCount++;
+	}
+}
@@ -0,0 +1,33 @@
+package com.simulator.hospital.framework;
+
+/**
+ * IEventList is the common interface of the event list implementations.
+ * The event with the earliest scheduled time is always removed first.
+ */
+
+public interface IEventList {
+
+	// Adds an existing event to the event list
+	void add(Event t);
+
+	// Schedules an event of the given type and time; implementations may store it without creating an Event object
+	void add(IEventType type, double time);
+
+	// Schedules an event concerning a customer at a service point, e.g. the end of its service
+	void add(IEventType type, double time, int customerId, int servicePointIndex);
+
+	// Removes and returns the earliest event; implementations may reuse the returned object on the next call
+	Event remove();
+
+	// Returns the time of the next event in the event list
+	double getNextEventTime();
+
+	// Returns true if no events are scheduled
+	boolean isEmpty();
+
+	// Returns the number of scheduled events
+	int size();
+
+	// Returns the time base event times are rounded to; simultaneous events are removed in insertion order
+	TimeBase getTimeBase();
+}
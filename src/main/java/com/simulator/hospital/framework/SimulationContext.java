@@ -0,0 +1,131 @@
+package com.simulator.hospital.framework;
+
+import com.simulator.eduni.distributions.ContinuousGenerator;
+import com.simulator.eduni.distributions.DiscreteGenerator;
+import com.simulator.eduni.distributions.NormalMethod;
+import com.simulator.eduni.distributions.RandomGenerator;
+import com.simulator.eduni.distributions.SplittableGenerator;
+import com.simulator.hospital.model.logic.ServerSelection;
+
+/**
+ * SimulationContext holds all the mutable state that belongs to one simulation run:
+ * the clock, the id counters of customers, service points and service units, and the
+ * accumulated customer statistics. Every run creates its own context, so several models
+ * can run in the same JVM, also concurrently on different threads, without sharing state.
+ * A context may also carry its own seed stream, so that independent replications draw
+ * their random numbers from non-overlapping parts of the generator cycle, or a splittable
+ * generator from which every random variable of the run gets an independent stream.
+ */
+
+public class SimulationContext {
+	private final Clock clock = new Clock();
+	private final DiscreteGenerator seeds;	// source of generator seeds, or null to keep the model's fixed seeds
+	private final SplittableGenerator streams;	// parent of the run's random streams, or null to use seeds
+	private NormalMethod normalMethod = NormalMethod.BOX_MULLER;	// algorithm of the normal service times
+	private double specialistProbability = 0.5;	// probability that a new customer needs the specialist
+	private ServerSelection serverSelection = ServerSelection.FIRST_FREE;	// policy choosing among idle service points
+
+	private int customerCount = 1;			// next customer id
+	private int servicePointCount = 1;		// next service point id
+	private int serviceUnitCount = 1;		// next service unit index
+
+	private int servedCustomerCount = 0;	// customers that have left the system
+	private double sumWaitingTime = 0;		// total waiting time of the served customers
+
+	public SimulationContext() {
+		this(null, null);
+	}
+
+	// Creates a context whose random generators are seeded from the given seed stream, e.g. a SeedGenerator
+	public SimulationContext(DiscreteGenerator seeds) {
+		this(seeds, null);
+	}
+
+	// Creates a context whose random generators are split from the given generator, e.g. a SplitMixGenerator
+	public SimulationContext(SplittableGenerator streams) {
+		this(null, streams);
+	}
+
+	private SimulationContext(DiscreteGenerator seeds, SplittableGenerator streams) {
+		this.seeds = seeds;
+		this.streams = streams;
+	}
+
+	public Clock getClock() {
+		return clock;
+	}
+
+	// Returns the next seed of this run's seed stream, or the given default seed if the context has no seed stream
+	public long nextSeed(long defaultSeed) {
+		return seeds == null ? defaultSeed : seeds.sample();
+	}
+
+	// Returns a new uniform source: a stream split from the context's generator, or a RandomGenerator seeded by nextSeed
+	public ContinuousGenerator nextStream(long defaultSeed) {
+		return streams != null ? streams.split() : new RandomGenerator(nextSeed(defaultSeed));
+	}
+
+	public NormalMethod getNormalMethod() {
+		return normalMethod;
+	}
+
+	// Selects the algorithm the model's normal generators use; set it before the model is created
+	public void setNormalMethod(NormalMethod normalMethod) {
+		this.normalMethod = normalMethod;
+	}
+
+	public double getSpecialistProbability() {
+		return specialistProbability;
+	}
+
+	// Sets the probability that a new customer is routed to the specialist; set it before the model is created
+	public void setSpecialistProbability(double specialistProbability) {
+		if (specialistProbability < 0 || specialistProbability > 1) {
+			throw new IllegalArgumentException("The specialist probability must be between 0 and 1");
+		}
+		this.specialistProbability = specialistProbability;
+	}
+
+	public ServerSelection getServerSelection() {
+		return serverSelection;
+	}
+
+	// Selects the policy the model's service units choose idle service points with; set it before the model is created
+	public void setServerSelection(ServerSelection serverSelection) {
+		this.serverSelection = serverSelection;
+	}
+
+	// Returns a new unique customer id
+	public int nextCustomerId() {
+		return customerCount++;
+	}
+
+	// Returns a new unique service point id
+	public int nextServicePointId() {
+		return servicePointCount++;
+	}
+
+	// Returns a new unique service unit index
+	public int nextServiceUnitIndex() {
+		return serviceUnitCount++;
+	}
+
+	// Records a customer leaving the system
+	public void addServedCustomer() {
+		servedCustomerCount++;
+	}
+
+	public int getServedCustomerCount() {
+		return servedCustomerCount;
+	}
+
+	// Adds the waiting time of a served customer to the total
+	public void addWaitingTime(double waitingTime) {
+		sumWaitingTime += waitingTime;
+	}
+
+	// Returns the average waiting time of the served customers
+	public double getAvgWaitingTime() {
+		return servedCustomerCount == 0 ? 0 : sumWaitingTime / servedCustomerCount;
+	}
+}
@@ -0,0 +1,116 @@
+package com.simulator.hospital.framework;
+
+/**
+ * SummaryStatistics accumulates observations, e.g. one result per replication, and
+ * reports their mean, sample variance and a Student-t confidence interval for the mean.
+ * The mean and variance are updated with Welford's method to stay accurate for many observations.
+ */
+
+public class SummaryStatistics {
+	private long count;
+	private double mean;
+	private double m2;		// sum of squared differences from the current mean
+
+	// Adds one observation
+	public void add(double value) {
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	// Returns the unbiased sample variance, or 0 for fewer than two observations
+	public double getVariance() {
+		return count < 2 ? 0 : m2 / (count - 1);
+	}
+
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	// Returns the half width of the confidence interval of the mean at the given level, e.g. 0.95
+	public double getHalfWidth(double confidence) {
+		if (count < 2) {
+			return Double.NaN;
+		}
+		double t = studentQuantile(1 - (1 - confidence) / 2, count - 1);
+		return t * getStandardDeviation() / Math.sqrt(count);
+	}
+
+	public double getLowerBound(double confidence) {
+		return mean - getHalfWidth(confidence);
+	}
+
+	public double getUpperBound(double confidence) {
+		return mean + getHalfWidth(confidence);
+	}
+
+	// Returns the p-quantile (p > 0.5) of Student's t distribution, using G. W. Hill's approximation (CACM algorithm 396)
+	public static double studentQuantile(double p, long degreesOfFreedom) {
+		double n = degreesOfFreedom;
+		double twoTail = 2 * (1 - p);
+		if (degreesOfFreedom == 1) {
+			double angle = twoTail * Math.PI / 2;
+			return Math.cos(angle) / Math.sin(angle);
+		}
+		if (degreesOfFreedom == 2) {
+			return Math.sqrt(2 / (twoTail * (2 - twoTail)) - 2);
+		}
+
+		double a = 1 / (n - 0.5);
+		double b = 48 / (a * a);
+		double c = ((20700 * a / b - 98) * a - 16) * a + 96.36;
+		double d = ((94.5 / (b + c) - 3) / b + 1) * Math.sqrt(a * Math.PI / 2) * n;
+		double x = d * twoTail;
+		double y = Math.pow(x, 2 / n);
+		if (y > 0.05 + a) {
+			// asymptotic inverse expansion about the normal quantile
+			x = normalQuantile(twoTail / 2);
+			y = x * x;
+			if (degreesOfFreedom < 5) {
+				c += 0.3 * (n - 4.5) * (x + 0.6);
+			}
+			c = (((0.05 * d * x - 5) * x - 7) * x - 2) * x + b + c;
+			y = (((((0.4 * y + 6.3) * y + 36) * y + 94.5) / c - y - 3) / b + 1) * x;
+			y = Math.expm1(a * y * y);
+		} else {
+			y = ((1 / (((n + 6) / (n * y) - 0.089 * d - 0.822) * (n + 2) * 3) + 0.5 / (n + 4)) * y - 1)
+					* (n + 1) / (n + 2) + 1 / y;
+		}
+		return Math.sqrt(n * y);
+	}
+
+	// Returns the p-quantile of the standard normal distribution, using P. J. Acklam's rational approximation
+	public static double normalQuantile(double p) {
+		final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+				1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+		final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+				6.680131188771972e+01, -1.328068155288572e+01};
+		final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+				-2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+		final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+				3.754408661907416e+00};
+		final double low = 0.02425;
+
+		if (p < low) {
+			double q = Math.sqrt(-2 * Math.log(p));
+			return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+					/ ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+		}
+		if (p > 1 - low) {
+			return -normalQuantile(1 - p);
+		}
+		double q = p - 0.5;
+		double r = q * q;
+		return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+				/ (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+	}
+}
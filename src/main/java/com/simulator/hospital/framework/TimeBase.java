@@ -0,0 +1,53 @@
+package com.simulator.hospital.framework;
+
+/**
+ * TimeBase maps simulation times to the long keys used to order events.
+ * - CONTINUOUS keeps the full double precision: the key is the bit pattern of the time,
+ *   rearranged so that comparing keys as longs gives the same order as comparing the times.
+ * - ticks(n) rounds every time to a whole number of ticks, n ticks per time unit, so that
+ *   events that are meant to be simultaneous compare equal and long horizons keep a fixed precision.
+ */
+
+public class TimeBase {
+	public static final TimeBase CONTINUOUS = new TimeBase(0);
+
+	private final long ticksPerUnit;	// 0 for the continuous time base
+
+	private TimeBase(long ticksPerUnit) {
+		this.ticksPerUnit = ticksPerUnit;
+	}
+
+	// Creates an integer tick time base with the given number of ticks per time unit
+	public static TimeBase ticks(long ticksPerUnit) {
+		if (ticksPerUnit <= 0) {
+			throw new IllegalArgumentException("The number of ticks per time unit must be positive");
+		}
+		return new TimeBase(ticksPerUnit);
+	}
+
+	public long getTicksPerUnit() {
+		return ticksPerUnit;
+	}
+
+	// Returns the ordering key of a time
+	public long toKey(double time) {
+		if (ticksPerUnit == 0) {
+			long bits = Double.doubleToLongBits(time);
+			return bits ^ ((bits >> 63) & Long.MAX_VALUE);	// flips negative times so that they sort below positive ones
+		}
+		return Math.round(time * ticksPerUnit);
+	}
+
+	// Returns the time represented by a key
+	public double toTime(long key) {
+		if (ticksPerUnit == 0) {
+			return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+		}
+		return (double) key / ticksPerUnit;
+	}
+
+	// Rounds a time to this time base
+	public double quantize(double time) {
+		return toTime(toKey(time));
+	}
+}
@@ -1,5 +1,7 @@
 package com.simulator.hospital.framework;
 
+import java.util.function.Supplier;
+
 public class Trace {
 	/**
 	 * Enum Level defines the different levels of log messages.
@@ -9,18 +11,83 @@ public class Trace {
 	 */
 	public enum Level{INFO, WAR, ERR}
 
-	// Static field to store the current trace level.
-	private static Level traceLevel;
+	// Static field to store the current trace level; only errors are output until another level is set
+	private static volatile Level traceLevel = Level.ERR;
+
+	// Static field to store where the messages go; the console unless another sink is set
+	private static volatile TraceSink sink = TraceSink.CONSOLE;
 
 	// Set the current trace level
 	public static void setTraceLevel(Level lvl){
 		traceLevel = lvl;
 	}
 
+	public static Level getTraceLevel(){
+		return traceLevel;
+	}
+
+	// Set where the messages go, e.g. an AsyncTraceSink writing to a file; null restores the console
+	public static void setSink(TraceSink traceSink){
+		sink = traceSink == null ? TraceSink.CONSOLE : traceSink;
+	}
+
+	public static TraceSink getSink(){
+		return sink;
+	}
+
+	// Checks if messages of the given level are output
+	public static boolean isEnabled(Level lvl){
+		return lvl.ordinal() >= traceLevel.ordinal();
+	}
+
 	// Outputs a message to the console if its level is equal to or higher than the current trace level.
 	public static void out(Level lvl, String txt){
-		if (lvl.ordinal() >= traceLevel.ordinal()){
-			System.out.println(txt);
+		if (isEnabled(lvl)){
+			sink.write(lvl, Double.NaN, txt);
+		}
+	}
+
+	// Outputs the message of the supplier, which is only called if the level is enabled; for messages built once in a while, e.g. results
+	public static void out(Level lvl, Supplier<String> message){
+		if (isEnabled(lvl)){
+			sink.write(lvl, Double.NaN, message.get());
+		}
+	}
+
+	// Outputs a message about a simulation event at the given simulation time, e.g. event(INFO, time, "Customer %d left", id).
+	// The template is formatted by the sink with the fields in order, so an asynchronous sink only copies them on the simulation thread.
+	// Every message on the path of an event uses one of these, so a disabled level costs a single check and builds nothing.
+	public static void event(Level lvl, double time, String template, int value){
+		if (isEnabled(lvl)){
+			sink.write(lvl, time, template, value);
+		}
+	}
+
+	// Outputs a message about a simulation event with two integer fields, e.g. a customer id and a service point id
+	public static void event(Level lvl, double time, String template, int first, int second){
+		if (isEnabled(lvl)){
+			sink.write(lvl, time, template, first, second);
+		}
+	}
+
+	// Outputs a message about a simulation event with an integer and a decimal field, e.g. a customer id and a duration
+	public static void event(Level lvl, double time, String template, int first, double second){
+		if (isEnabled(lvl)){
+			sink.write(lvl, time, template, first, second);
+		}
+	}
+
+	// Outputs a message about a simulation event with a decimal field
+	public static void event(Level lvl, double time, String template, double value){
+		if (isEnabled(lvl)){
+			sink.write(lvl, time, template, value);
+		}
+	}
+
+	// Outputs a message about a simulation event with an integer field and an immutable object, e.g. a customer id and its type
+	public static void event(Level lvl, double time, String template, int first, Object second){
+		if (isEnabled(lvl)){
+			sink.write(lvl, time, template, first, second);
 		}
 	}
-}
\ No newline at end of file
+}
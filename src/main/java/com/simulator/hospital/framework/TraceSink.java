@@ -0,0 +1,89 @@
+package com.simulator.hospital.framework;
+
+import java.util.Locale;
+
+/**
+ * Receives the messages that pass the trace level of {@link Trace}.
+ * Messages about simulation events carry a format template and its typed fields, in the order of the
+ * template; a sink may store the fields and format them later, off the simulation thread.
+ * By default the templates are formatted immediately.
+ */
+public interface TraceSink {
+
+	/**
+	 * A sink printing every message to the console immediately, the default of {@link Trace}.
+	 */
+	TraceSink CONSOLE = (lvl, time, message) -> System.out.println(message);
+
+	/**
+	 * Outputs a message.
+	 *
+	 * @param lvl     the level of the message.
+	 * @param time    the simulation time of the message, or NaN if it has none.
+	 * @param message the message.
+	 */
+	void write(Trace.Level lvl, double time, String message);
+
+	/**
+	 * Outputs a message about a simulation event with an integer field.
+	 *
+	 * @param lvl      the level of the message.
+	 * @param time     the simulation time of the event.
+	 * @param template the format template of the message.
+	 * @param value    the field of the template.
+	 */
+	default void write(Trace.Level lvl, double time, String template, int value) {
+		write(lvl, time, String.format(Locale.US, template, value));
+	}
+
+	/**
+	 * Outputs a message about a simulation event with two integer fields.
+	 *
+	 * @param lvl      the level of the message.
+	 * @param time     the simulation time of the event.
+	 * @param template the format template of the message.
+	 * @param first    the first field of the template.
+	 * @param second   the second field of the template.
+	 */
+	default void write(Trace.Level lvl, double time, String template, int first, int second) {
+		write(lvl, time, String.format(Locale.US, template, first, second));
+	}
+
+	/**
+	 * Outputs a message about a simulation event with an integer and a decimal field.
+	 *
+	 * @param lvl      the level of the message.
+	 * @param time     the simulation time of the event.
+	 * @param template the format template of the message.
+	 * @param first    the first field of the template.
+	 * @param second   the second field of the template.
+	 */
+	default void write(Trace.Level lvl, double time, String template, int first, double second) {
+		write(lvl, time, String.format(Locale.US, template, first, second));
+	}
+
+	/**
+	 * Outputs a message about a simulation event with a decimal field.
+	 *
+	 * @param lvl      the level of the message.
+	 * @param time     the simulation time of the event.
+	 * @param template the format template of the message.
+	 * @param value    the field of the template.
+	 */
+	default void write(Trace.Level lvl, double time, String template, double value) {
+		write(lvl, time, String.format(Locale.US, template, value));
+	}
+
+	/**
+	 * Outputs a message about a simulation event with an integer field and an immutable object, e.g. an enum constant.
+	 *
+	 * @param lvl      the level of the message.
+	 * @param time     the simulation time of the event.
+	 * @param template the format template of the message.
+	 * @param first    the first field of the template.
+	 * @param second   the second field of the template, which must not change once written.
+	 */
+	default void write(Trace.Level lvl, double time, String template, int first, Object second) {
+		write(lvl, time, String.format(Locale.US, template, first, second));
+	}
+}
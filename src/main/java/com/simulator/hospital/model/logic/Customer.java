@@ -2,12 +2,10 @@ package com.simulator.hospital.model.logic;
 
 import com.simulator.hospital.framework.*;
 
-import java.util.Random;
-
 /**
  * Represents a customer in the hospital simulation.
  * Tracks the customer's arrival time, removal time, and service time, and assigns a unique ID.
- * Customers are categorized as either "general" or "specialist."
+ * Customers are categorized as either general or specialist customers.
  * Provides methods to calculate waiting time, report results, and track overall statistics
  * for all customers in the simulation.
  */
@@ -34,24 +32,14 @@ public class Customer {
 	private int id;
 
 	/**
-	 * The type of the customer, either "general" or "specialist."
-	 */
-	private String customerType;
-
-	/**
-	 * Static counter to assign unique IDs to customers.
-	 */
-	private static int customerCount = 1;
-
-	/**
-	 * Static counter to track the total number of customers served.
+	 * The type of the customer, either general or specialist.
 	 */
-	private static int servedCustomerCount = 0;
+	private final CustomerType customerType;
 
 	/**
-	 * Static variable to accumulate the total waiting time of all customers.
+	 * The simulation run this customer belongs to, which holds the ID counter and the overall statistics.
 	 */
-	private static double sumWaitingTime = 0;
+	private final SimulationContext context;
 
 	/**
 	 * The x-coordinate of the customer's position in the simulation space.
@@ -64,31 +52,18 @@ public class Customer {
 	private int y;
 
 	/**
-	 * Constructs a new customer with a unique ID and randomly assigns the type
-	 * as either "general" or "specialist." The arrival time is set to the current
-	 * clock time of the simulation.
-	 */
-	public Customer() {
-		id = customerCount++;
-		customerType = new Random().nextBoolean() ? "general" : "specialist";
-		arrivalTime = Clock.getInstance().getClock(); // Set the arrival time to the current simulation clock
-		Trace.out(Trace.Level.INFO, "New customer #" + id + " type: " + customerType + " arrived at " + arrivalTime);
-	}
-
-	/**
-	 * Gets the total number of customers served in the simulation.
+	 * Constructs a new customer of the given type with a unique ID.
+	 * The arrival time is set to the current clock time of the simulation.
 	 *
-	 * @return the total number of served customers.
+	 * @param context the simulation run the customer arrives in.
+	 * @param customerType the type of the customer, drawn by the model.
 	 */
-	public static int getServedCustomerCount() {
-		return servedCustomerCount;
-	}
-
-	/**
-	 * Increments the count of served customers by one.
-	 */
-	public static void setServedCustomerCount() {
-		servedCustomerCount++;
+	public Customer(SimulationContext context, CustomerType customerType) {
+		this.context = context;
+		id = context.nextCustomerId();
+		this.customerType = customerType;
+		arrivalTime = context.getClock().getClock(); // Set the arrival time to the current simulation clock
+		Trace.event(Trace.Level.INFO, arrivalTime, "New customer #%d type: %s arrived", id, customerType);
 	}
 
 	/**
@@ -146,11 +121,11 @@ public class Customer {
 	}
 
 	/**
-	 * Gets the type of the customer, either "general" or "specialist."
+	 * Gets the type of the customer, either general or specialist.
 	 *
 	 * @return the type of the customer.
 	 */
-	public String getCustomerType() {
+	public CustomerType getCustomerType() {
 		return customerType;
 	}
 
@@ -190,37 +165,18 @@ public class Customer {
 		return y;
 	}
 
-	/**
-	 * Calculates the average waiting time for all customers in the simulation.
-	 *
-	 * @return the average waiting time of all customers.
-	 */
-	public static double getAvrWaitingTime() {
-		return servedCustomerCount == 0 ? 0 : sumWaitingTime / servedCustomerCount;
-	}
-
 	/**
 	 * Reports the results for this customer, including arrival time, removal time,
 	 * waiting time, and updates the total waiting time for all customers.
 	 */
 	public void reportResults() {
 		double waitingTime = Math.max(this.removalTime - this.arrivalTime - this.serviceTime, 0);
-		sumWaitingTime += waitingTime;
-
-		Trace.out(Trace.Level.INFO, "Customer " + id + " arrived: " + arrivalTime);
-		Trace.out(Trace.Level.INFO, "Customer " + id + " removed: " + removalTime);
-		Trace.out(Trace.Level.INFO, "Customer " + id + " stayed: " + (removalTime - arrivalTime));
-		Trace.out(Trace.Level.INFO, "Customer " + id + " waiting for " + waitingTime);
-
-		System.out.println("Current mean of the customer waiting times: " + getAvrWaitingTime());
-	}
+		context.addWaitingTime(waitingTime);
 
-	/**
-	 * Resets the customer count and served customer count for a new simulation.
-	 */
-	public static void resetCount() {
-		customerCount = 1;
-		servedCustomerCount = 0;
-		sumWaitingTime = 0;
+		Trace.event(Trace.Level.INFO, removalTime, "Customer %d arrived: %s", id, arrivalTime);
+		Trace.event(Trace.Level.INFO, removalTime, "Customer %d removed: %s", id, removalTime);
+		Trace.event(Trace.Level.INFO, removalTime, "Customer %d stayed: %s", id, removalTime - arrivalTime);
+		Trace.event(Trace.Level.INFO, removalTime, "Customer %d waiting for %s", id, waitingTime);
+		Trace.event(Trace.Level.INFO, removalTime, "Current mean of the customer waiting times: %s", context.getAvgWaitingTime());
 	}
 }
@@ -0,0 +1,17 @@
+package com.simulator.hospital.model.logic;
+
+/**
+ * Enumeration representing the types of customers in the hospital simulation.
+ * The type decides which examination unit a customer visits after registration.
+ */
+public enum CustomerType {
+	/**
+	 * A customer examined at the general unit.
+	 */
+	GENERAL,
+
+	/**
+	 * A customer examined at the specialist unit.
+	 */
+	SPECIALIST;
+}
@@ -0,0 +1,164 @@
+package com.simulator.hospital.model.logic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads an event log written by an {@link EventLogRecorder}. The file is memory-mapped, so any record can be
+ * reached directly: a replay can start at any simulation time, run at any speed, or be repeated,
+ * without running the model again.
+ * Closing the reader drops its mapping, which the JVM unmaps once the buffer is collected.
+ */
+public class EventLogReader implements Closeable {
+	private static final CustomerType[] TYPES = CustomerType.values();
+
+	/**
+	 * Receives the outcomes replayed from a log.
+	 */
+	public interface Handler {
+
+		/**
+		 * Called for a customer that moved into the queue of a service unit, or out of the system.
+		 *
+		 * @param time             the simulation time of the move.
+		 * @param customerId       the id of the customer.
+		 * @param customerType     the type of the customer.
+		 * @param serviceUnitIndex the index of the service unit whose queue the customer joined, or -1 if it left the system.
+		 */
+		void customerMoved(double time, int customerId, CustomerType customerType, int serviceUnitIndex);
+
+		/**
+		 * Called for a customer whose service started.
+		 *
+		 * @param time              the simulation time of the start.
+		 * @param customerId        the id of the customer.
+		 * @param serviceUnitIndex  the index of the service unit.
+		 * @param servicePointIndex the index of the service point in its unit.
+		 */
+		void serviceStarted(double time, int customerId, int serviceUnitIndex, int servicePointIndex);
+	}
+
+	private MappedByteBuffer log;
+	private final int size;
+	private final int[] servicePoints = new int[3];
+
+	/**
+	 * Opens a log and maps its records.
+	 *
+	 * @param file the log file.
+	 * @throws IOException if the file cannot be read, is not an event log or is too large to be mapped at once.
+	 */
+	public EventLogReader(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() < EventLogRecorder.HEADER_SIZE) {
+				throw new IOException("Not an event log: " + file);
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, EventLogRecorder.HEADER_SIZE);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			if (header.getInt(0) != EventLogRecorder.MAGIC || header.getInt(4) != EventLogRecorder.VERSION) {
+				throw new IOException("Not an event log: " + file);
+			}
+			for (int i = 0; i < servicePoints.length; i++) {
+				servicePoints[i] = header.getInt(8 + 4 * i);
+			}
+			long count = header.getLong(EventLogRecorder.COUNT_OFFSET);
+			long bytes = count * EventLogRecorder.RECORD_SIZE;
+			if (count < 0 || bytes > Integer.MAX_VALUE || EventLogRecorder.HEADER_SIZE + bytes > channel.size()) {
+				throw new IOException("Invalid or too large event log: " + file);
+			}
+			size = (int) count;
+			log = channel.map(FileChannel.MapMode.READ_ONLY, EventLogRecorder.HEADER_SIZE, bytes);
+			log.order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+
+	/**
+	 * Gets the number of service points of a service unit of the recorded model.
+	 *
+	 * @param serviceUnitIndex the index of the service unit, starting at 1.
+	 * @return the number of service points.
+	 */
+	public int getServicePointCount(int serviceUnitIndex) {
+		return servicePoints[serviceUnitIndex - 1];
+	}
+
+	/**
+	 * @return the number of records in the log.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the simulation time of a record.
+	 *
+	 * @param record the index of the record.
+	 * @return the simulation time.
+	 */
+	public double getTime(int record) {
+		return log.getDouble(record * EventLogRecorder.RECORD_SIZE);
+	}
+
+	/**
+	 * Checks if a record is the start of a service (a C-phase outcome) rather than a move (a B-phase outcome).
+	 *
+	 * @param record the index of the record.
+	 * @return true for the start of a service.
+	 */
+	public boolean isServiceStarted(int record) {
+		return log.get(record * EventLogRecorder.RECORD_SIZE + 12) == EventLogRecorder.SERVED;
+	}
+
+	/**
+	 * Finds the first record at or after a simulation time, e.g. to scrub a replay.
+	 *
+	 * @param time the simulation time.
+	 * @return the index of the record, or {@link #size()} if every record is earlier.
+	 */
+	public int seek(double time) {
+		int low = 0, high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (getTime(middle) < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Releases the mapped records. The reader cannot be used afterwards.
+	 */
+	@Override
+	public void close() {
+		log = null;
+	}
+
+	/**
+	 * Replays a range of records in their recorded order.
+	 *
+	 * @param from    the index of the first record.
+	 * @param to      the index after the last record.
+	 * @param handler the handler receiving the outcomes.
+	 */
+	public void replay(int from, int to, Handler handler) {
+		for (int record = from; record < to; record++) {
+			int offset = record * EventLogRecorder.RECORD_SIZE;
+			double time = log.getDouble(offset);
+			int customerId = log.getInt(offset + 8);
+			int serviceUnitIndex = log.getShort(offset + 14);
+			if (log.get(offset + 12) == EventLogRecorder.SERVED) {
+				handler.serviceStarted(time, customerId, serviceUnitIndex, log.getInt(offset + 16));
+			} else {
+				handler.customerMoved(time, customerId, TYPES[log.get(offset + 13)], serviceUnitIndex);
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.simulator.hospital.model.logic;
+
+import com.simulator.hospital.framework.Clock;
+import com.simulator.hospital.framework.Event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the outcome of every B- and C-phase event of a {@link SimulatorModel} into a compact binary log,
+ * written through a memory-mapped file, so that a long run can be computed once at full speed and animated
+ * later with an {@link EventLogReader}.
+ * The log starts with a header holding the number of service points of each unit and the number of records,
+ * followed by one fixed-size record per outcome: the simulation time, the customer id, whether the customer
+ * moved or started a service, the customer type, the service unit index and the service point index.
+ * Every outcome is also passed on to another listener, e.g. the animation of a live run.
+ */
+public class EventLogRecorder implements ModelListener, Closeable {
+	static final int MAGIC = 0x48534C47;		// "HSLG"
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 32;			// magic, version, three unit sizes, padding and the record count
+	static final int COUNT_OFFSET = 24;
+	static final int RECORD_SIZE = 20;			// time, customer id, kind, customer type, unit index and point index
+	static final byte MOVED = 0;
+	static final byte SERVED = 1;
+	private static final long REGION_SIZE = RECORD_SIZE * 65536L;	// the file is mapped and extended in regions of this size
+
+	private final FileChannel channel;
+	private final Clock clock;
+	private final ModelListener next;
+	private final int[] unitOf;			// service unit index of each service point id
+	private final int[] pointOf;		// index in its unit of each service point id
+	private MappedByteBuffer region;
+	private long regionStart;
+	private long count;
+
+	/**
+	 * Creates a recorder for the outcomes of a model. The recorder has to be set as the listener of the model.
+	 *
+	 * @param file  the file the log is written to, replaced if it exists.
+	 * @param model the model whose outcomes are recorded.
+	 * @param next  the listener every outcome is passed on to, or {@link ModelListener#NONE}.
+	 * @throws IOException if the file cannot be created.
+	 */
+	public EventLogRecorder(Path file, SimulatorModel model, ModelListener next) throws IOException {
+		this.clock = model.getClock();
+		this.next = next;
+		ServiceUnit[] units = model.getServiceUnits();
+		int[][] locations = locateServicePoints(model);
+		unitOf = locations[0];
+		pointOf = locations[1];
+
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putInt(VERSION);
+		for (int i = 0; i < 3; i++) {
+			header.putInt(i < units.length ? units[i].getServicePoints().size() : 0);
+		}
+		header.flip();
+		channel.write(header, 0);
+		regionStart = HEADER_SIZE;
+		region = map(regionStart);
+	}
+
+	@Override
+	public void customerMoved(Customer customer, ServiceUnit serviceUnit) {
+		record(MOVED, customer, serviceUnit == null ? Event.NONE : serviceUnit.getIndex(), Event.NONE);
+		next.customerMoved(customer, serviceUnit);
+	}
+
+	@Override
+	public void serviceStarted(Customer customer, ServicePoint servicePoint) {
+		record(SERVED, customer, unitOf[servicePoint.getId()], pointOf[servicePoint.getId()]);
+		next.serviceStarted(customer, servicePoint);
+	}
+
+	/**
+	 * Gets the number of outcomes recorded so far.
+	 *
+	 * @return the number of records.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Writes the number of records into the header and closes the file.
+	 * The file keeps the unused part of its last region; readers only use the records counted in the header.
+	 *
+	 * @throws IOException if the header cannot be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		region.force();
+		ByteBuffer header = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		header.putLong(count).flip();
+		channel.write(header, COUNT_OFFSET);
+		channel.close();
+	}
+
+	// Finds the service unit index and the index in its unit of every service point id of a model
+	static int[][] locateServicePoints(SimulatorModel model) {
+		int points = 0;
+		for (ServiceUnit unit : model.getServiceUnits()) {
+			for (ServicePoint servicePoint : unit.getServicePoints()) {
+				points = Math.max(points, servicePoint.getId() + 1);
+			}
+		}
+		int[][] locations = new int[2][points];
+		for (ServiceUnit unit : model.getServiceUnits()) {
+			for (int i = 0; i < unit.getServicePoints().size(); i++) {
+				locations[0][unit.getServicePoints().get(i).getId()] = unit.getIndex();
+				locations[1][unit.getServicePoints().get(i).getId()] = i;
+			}
+		}
+		return locations;
+	}
+
+	// Appends a record, mapping the next region of the file when the current one is full
+	private void record(byte kind, Customer customer, int serviceUnitIndex, int servicePointIndex) {
+		if (region.remaining() < RECORD_SIZE) {
+			regionStart += region.position();
+			try {
+				region = map(regionStart);
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot extend the event log", e);
+			}
+		}
+		region.putDouble(clock.getClock());
+		region.putInt(customer.getId());
+		region.put(kind);
+		region.put((byte) customer.getCustomerType().ordinal());
+		region.putShort((short) serviceUnitIndex);
+		region.putInt(servicePointIndex);
+		count++;
+	}
+
+	private MappedByteBuffer map(long position) throws IOException {
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, REGION_SIZE);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		return buffer;
+	}
+}
@@ -0,0 +1,43 @@
+package com.simulator.hospital.model.logic;
+
+import java.util.BitSet;
+
+/**
+ * Idle server pool selecting the idle service point with the lowest index.
+ * The idle service points are the set bits of a bit set, so a seize is a word-wise search
+ * with {@link BitSet#nextSetBit(int)} and a release is O(1).
+ */
+class FirstFreePool implements IdleServerPool {
+
+	/**
+	 * Bit i is set while service point i is idle.
+	 */
+	private final BitSet idle;
+
+	/**
+	 * Constructs a pool in which all service points are idle.
+	 *
+	 * @param size the number of service points.
+	 */
+	FirstFreePool(int size) {
+		idle = new BitSet(size);
+		idle.set(0, size);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return idle.isEmpty();
+	}
+
+	@Override
+	public int seize() {
+		int index = idle.nextSetBit(0);
+		idle.clear(index);
+		return index;
+	}
+
+	@Override
+	public void release(int index) {
+		idle.set(index);
+	}
+}
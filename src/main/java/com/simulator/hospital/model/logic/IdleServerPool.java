@@ -0,0 +1,31 @@
+package com.simulator.hospital.model.logic;
+
+/**
+ * Keeps track of the idle service points of a service unit, by their index in the unit,
+ * and decides which idle service point serves the next customer.
+ * Implementations decide the server-selection policy; seizing and releasing a service point
+ * should not depend linearly on the number of service points, so units can have hundreds of them.
+ */
+public interface IdleServerPool {
+
+	/**
+	 * Checks if any service point is idle.
+	 *
+	 * @return {@code true} if no service point is idle, {@code false} otherwise.
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Selects an idle service point and marks it busy.
+	 *
+	 * @return the index of the selected service point.
+	 */
+	int seize();
+
+	/**
+	 * Marks a busy service point idle again.
+	 *
+	 * @param index the index of the service point.
+	 */
+	void release(int index);
+}
@@ -0,0 +1,91 @@
+package com.simulator.hospital.model.logic;
+
+import java.util.List;
+
+/**
+ * Idle server pool selecting the idle service point with the least total service time,
+ * the lowest index first among equals. The idle service points are kept in a binary min-heap,
+ * so seize and release are O(log n). The total service time of a service point only changes
+ * while it is busy, so the order of the idle ones never changes inside the heap.
+ */
+class LeastBusyPool implements IdleServerPool {
+
+	/**
+	 * The service points of the unit, whose total service times order the heap.
+	 */
+	private final List<ServicePoint> servicePoints;
+
+	/**
+	 * The heap of idle service point indexes.
+	 */
+	private final int[] heap;
+
+	/**
+	 * The number of idle service points.
+	 */
+	private int size;
+
+	/**
+	 * Constructs a pool in which all service points are idle.
+	 *
+	 * @param servicePoints the service points of the unit.
+	 */
+	LeastBusyPool(List<ServicePoint> servicePoints) {
+		this.servicePoints = servicePoints;
+		heap = new int[servicePoints.size()];
+		for (int i = 0; i < heap.length; i++) {
+			release(i);
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int seize() {
+		int index = heap[0];
+		int last = heap[--size];
+		int hole = 0;
+		while (true) {
+			int child = 2 * hole + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && before(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!before(heap[child], last)) {
+				break;
+			}
+			heap[hole] = heap[child];
+			hole = child;
+		}
+		heap[hole] = last;
+		return index;
+	}
+
+	@Override
+	public void release(int index) {
+		int hole = size++;
+		while (hole > 0) {
+			int parent = (hole - 1) / 2;
+			if (!before(index, heap[parent])) {
+				break;
+			}
+			heap[hole] = heap[parent];
+			hole = parent;
+		}
+		heap[hole] = index;
+	}
+
+	/**
+	 * Checks if service point a is selected before service point b.
+	 */
+	private boolean before(int a, int b) {
+		double busyA = servicePoints.get(a).getTotalServiceTime();
+		double busyB = servicePoints.get(b).getTotalServiceTime();
+		return busyA != busyB ? busyA < busyB : a < b;
+	}
+}
@@ -0,0 +1,35 @@
+package com.simulator.hospital.model.logic;
+
+/**
+ * Receives the outcome of the B- and C-phase events of a {@link SimulatorModel} as they happen.
+ * The model reports every outcome through the listener instead of returning result objects,
+ * so a run without a listener, or with one that keeps no per-event state, creates no garbage per event.
+ * Both methods do nothing by default.
+ */
+public interface ModelListener {
+
+	/**
+	 * A listener ignoring every outcome, used by headless runs.
+	 */
+	ModelListener NONE = new ModelListener() {
+	};
+
+	/**
+	 * Called when a B-phase event moves a customer: an arrival into the first queue, a departure into
+	 * the queue of the next service unit, or a departure out of the system.
+	 *
+	 * @param customer    the customer that moved.
+	 * @param serviceUnit the service unit whose queue the customer joined, or {@code null} if the customer left the system.
+	 */
+	default void customerMoved(Customer customer, ServiceUnit serviceUnit) {
+	}
+
+	/**
+	 * Called when a C-phase event starts the service of a customer.
+	 *
+	 * @param customer     the customer being served.
+	 * @param servicePoint the service point serving the customer.
+	 */
+	default void serviceStarted(Customer customer, ServicePoint servicePoint) {
+	}
+}
@@ -0,0 +1,150 @@
+package com.simulator.hospital.model.logic;
+
+import com.simulator.hospital.framework.Clock;
+import com.simulator.hospital.framework.Event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded single-producer single-consumer queue of the outcomes of a {@link SimulatorModel}, so that the model
+ * can run ahead of its animation. The model thread adds every outcome as the listener of the model, and the
+ * animation takes them off at its own speed, in the same form as the records of an {@link EventLogReader}.
+ * The outcomes are kept in preallocated parallel arrays, and the producer and the consumer only share two
+ * counters, so adding and taking an outcome allocates nothing and takes no lock.
+ * When the queue is full, the model thread waits until the animation has caught up.
+ */
+public class OutcomeQueue implements ModelListener {
+	private static final long WAIT_NANOS = 1_000_000;		// pause of the model thread while the queue is full
+	private static final CustomerType[] TYPES = CustomerType.values();
+
+	private final Clock clock;
+	private final int[] unitOf;			// service unit index of each service point id
+	private final int[] pointOf;		// index in its unit of each service point id
+	private final int mask;
+	private final double[] times;
+	private final int[] customers;
+	private final boolean[] served;
+	private final byte[] types;
+	private final int[] units;
+	private final int[] points;
+	private final AtomicLong head = new AtomicLong();		// next outcome to be taken, written by the consumer
+	private final AtomicLong tail = new AtomicLong();		// next outcome to be added, written by the producer
+	private volatile boolean closed;
+
+	/**
+	 * Creates a queue for the outcomes of a model. The queue has to be set as the listener of the model.
+	 *
+	 * @param model    the model whose outcomes are queued.
+	 * @param capacity the number of outcomes the queue holds, rounded up to a power of two.
+	 */
+	public OutcomeQueue(SimulatorModel model, int capacity) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("The capacity must be positive");
+		}
+		this.clock = model.getClock();
+		int[][] locations = EventLogRecorder.locateServicePoints(model);
+		unitOf = locations[0];
+		pointOf = locations[1];
+
+		int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		mask = size - 1;
+		times = new double[size];
+		customers = new int[size];
+		served = new boolean[size];
+		types = new byte[size];
+		this.units = new int[size];
+		this.points = new int[size];
+	}
+
+	@Override
+	public void customerMoved(Customer customer, ServiceUnit serviceUnit) {
+		add(false, customer, serviceUnit == null ? Event.NONE : serviceUnit.getIndex(), Event.NONE);
+	}
+
+	@Override
+	public void serviceStarted(Customer customer, ServicePoint servicePoint) {
+		add(true, customer, unitOf[servicePoint.getId()], pointOf[servicePoint.getId()]);
+	}
+
+	/**
+	 * Marks the end of the model run: no outcome is added any more.
+	 */
+	public void close() {
+		closed = true;
+	}
+
+	/**
+	 * Checks if the model run has ended. Outcomes may still be waiting to be taken.
+	 *
+	 * @return true if no outcome is added any more.
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * @return the number of outcomes waiting to be taken.
+	 */
+	public int available() {
+		return (int) (tail.get() - head.get());
+	}
+
+	/**
+	 * Gets the simulation time of a waiting outcome.
+	 *
+	 * @param k the position of the outcome, 0 for the next one, less than {@link #available()}.
+	 * @return the simulation time.
+	 */
+	public double getTime(int k) {
+		return times[(int) (head.get() + k) & mask];
+	}
+
+	/**
+	 * Checks if a waiting outcome is the start of a service (a C-phase outcome) rather than a move (a B-phase outcome).
+	 *
+	 * @param k the position of the outcome, 0 for the next one, less than {@link #available()}.
+	 * @return true for the start of a service.
+	 */
+	public boolean isServiceStarted(int k) {
+		return served[(int) (head.get() + k) & mask];
+	}
+
+	/**
+	 * Takes the next outcomes off the queue, in the order they happened.
+	 *
+	 * @param count   the number of outcomes, at most {@link #available()}.
+	 * @param handler the handler receiving the outcomes.
+	 */
+	public void replay(int count, EventLogReader.Handler handler) {
+		long position = head.get();
+		for (long end = position + count; position < end; position++) {
+			int i = (int) position & mask;
+			if (served[i]) {
+				handler.serviceStarted(times[i], customers[i], units[i], points[i]);
+			} else {
+				handler.customerMoved(times[i], customers[i], TYPES[types[i]], units[i]);
+			}
+			head.lazySet(position + 1);		// frees the slot for the producer
+		}
+	}
+
+	// Adds an outcome, waiting while the queue is full; an interrupted model thread drops it and stops waiting
+	private void add(boolean service, Customer customer, int serviceUnitIndex, int servicePointIndex) {
+		long position = tail.get();
+		while (position - head.get() > mask) {
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			LockSupport.parkNanos(WAIT_NANOS);
+		}
+		int i = (int) position & mask;
+		times[i] = clock.getClock();
+		customers[i] = customer.getId();
+		served[i] = service;
+		types[i] = (byte) customer.getCustomerType().ordinal();
+		units[i] = serviceUnitIndex;
+		points[i] = servicePointIndex;
+		tail.lazySet(position + 1);		// publishes the outcome to the consumer
+	}
+}
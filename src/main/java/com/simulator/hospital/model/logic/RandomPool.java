@@ -0,0 +1,73 @@
+package com.simulator.hospital.model.logic;
+
+import com.simulator.eduni.distributions.ContinuousGenerator;
+
+/**
+ * Idle server pool selecting an idle service point uniformly at random.
+ * The idle service points are kept unordered in the front of an array, with the position of
+ * every service point in a second array, so that seize and release are O(1) swaps.
+ */
+class RandomPool implements IdleServerPool {
+
+	/**
+	 * The idle service points in the first {@code size} slots, the busy ones after them.
+	 */
+	private final int[] points;
+
+	/**
+	 * The slot of each service point in {@code points}.
+	 */
+	private final int[] slots;
+
+	/**
+	 * The number of idle service points.
+	 */
+	private int size;
+
+	/**
+	 * Uniform random numbers used to choose the service point.
+	 */
+	private final ContinuousGenerator uniform;
+
+	/**
+	 * Constructs a pool in which all service points are idle.
+	 *
+	 * @param size    the number of service points.
+	 * @param uniform the generator of uniform random numbers in [0, 1).
+	 */
+	RandomPool(int size, ContinuousGenerator uniform) {
+		points = new int[size];
+		slots = new int[size];
+		for (int i = 0; i < size; i++) {
+			points[i] = i;
+			slots[i] = i;
+		}
+		this.size = size;
+		this.uniform = uniform;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int seize() {
+		int index = points[(int) (uniform.sample() * size)];
+		swap(slots[index], --size);
+		return index;
+	}
+
+	@Override
+	public void release(int index) {
+		swap(slots[index], size++);
+	}
+
+	private void swap(int a, int b) {
+		int pointA = points[a], pointB = points[b];
+		points[a] = pointB;
+		slots[pointB] = a;
+		points[b] = pointA;
+		slots[pointA] = b;
+	}
+}
@@ -0,0 +1,21 @@
+package com.simulator.hospital.model.logic;
+
+/**
+ * Enumeration representing the policies a service unit uses to choose among its idle service points.
+ */
+public enum ServerSelection {
+	/**
+	 * The idle service point with the lowest index, as in a row of desks filled from the first one.
+	 */
+	FIRST_FREE,
+
+	/**
+	 * An idle service point chosen uniformly at random.
+	 */
+	RANDOM,
+
+	/**
+	 * The idle service point with the least total service time so far, balancing the utilization.
+	 */
+	LEAST_BUSY;
+}
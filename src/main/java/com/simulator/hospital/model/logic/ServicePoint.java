@@ -12,11 +12,6 @@ public class ServicePoint {
      */
     private int id;
 
-    /**
-     * Static counter to assign unique IDs to service points.
-     */
-    private static int count = 1;
-
     /**
      * The current customer being served at this service point.
      */
@@ -53,11 +48,13 @@ public class ServicePoint {
     private int y;
 
     /**
-     * Constructs a new service point with a unique ID.
+     * Constructs a new service point with the given unique ID.
      * Initializes service statistics to zero.
+     *
+     * @param id the unique ID of the service point.
      */
-    public ServicePoint() {
-        this.id = count++;
+    public ServicePoint(int id) {
+        this.id = id;
         totalServiceTime = 0;
         totalCustomer = 0;
     }
@@ -195,12 +192,4 @@ public class ServicePoint {
     public void setY(int y) {
         this.y = y;
     }
-
-    /**
-     * Resets the static counter for service point IDs to 1.
-     * Useful when starting a new simulation.
-     */
-    public static void resetCount() {
-        count = 1;
-    }
 }
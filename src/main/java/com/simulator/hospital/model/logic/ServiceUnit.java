@@ -10,6 +10,8 @@ import java.util.LinkedList;
  * Models a service unit in the simulation.
  * A service unit consists of a queue of customers, a set of service points,
  * and functionality for managing service processes.
+ * The idle service points are kept in an {@link IdleServerPool}, which also decides which of them
+ * serves the next customer, so units can have hundreds of service points.
  */
 public class ServiceUnit {
 
@@ -19,24 +21,39 @@ public class ServiceUnit {
 	private LinkedList<Customer> queue = new LinkedList<>();
 
 	/**
-	 * Queue of customers currently being served.
+	 * List of service points associated with this service unit.
 	 */
-	private LinkedList<Customer> servingQueue = new LinkedList<>();
+	private ArrayList<ServicePoint> servicePoints = new ArrayList<>();
 
 	/**
-	 * List of service points associated with this service unit.
+	 * The idle service points, selected by the server-selection policy.
 	 */
-	private ArrayList<ServicePoint> servicePoints = new ArrayList<>();
+	private IdleServerPool idleServers;
 
 	/**
 	 * Random number generator for determining service times.
 	 */
 	private ContinuousGenerator generator;
 
+	/**
+	 * Number of service times drawn from the generator at once.
+	 */
+	private static final int BLOCK = 64;
+
+	/**
+	 * Service times drawn in advance, in the order the generator produced them.
+	 */
+	private final double[] serviceTimes = new double[BLOCK];
+
+	/**
+	 * Index of the next unused service time.
+	 */
+	private int nextServiceTime = BLOCK;
+
 	/**
 	 * Event list used to schedule events for this service unit.
 	 */
-	private EventList eventList;
+	private IEventList eventList;
 
 	/**
 	 * Event type scheduled for service completion.
@@ -59,9 +76,14 @@ public class ServiceUnit {
 	private int index;
 
 	/**
-	 * Static counter for generating unique indices for service units.
+	 * Clock of the simulation run this unit belongs to.
+	 */
+	private Clock clock;
+
+	/**
+	 * Simulation run this unit belongs to, providing the random streams of the server-selection policies.
 	 */
-	private static int count = 1;
+	private SimulationContext context;
 
 	/**
 	 * Constructs a new service unit with the specified parameters.
@@ -70,16 +92,51 @@ public class ServiceUnit {
 	 * @param eventList          the event list for scheduling events.
 	 * @param type               the event type for service completion.
 	 * @param servicePointNumber the number of service points in this unit.
+	 * @param context            the simulation run providing the clock and the unique IDs.
 	 */
-	public ServiceUnit(ContinuousGenerator generator, EventList eventList, EventType type, int servicePointNumber) {
+	public ServiceUnit(ContinuousGenerator generator, IEventList eventList, EventType type, int servicePointNumber, SimulationContext context) {
 		this.eventList = eventList;
 		this.generator = generator;
 		this.eventTypeScheduled = type;
+		this.clock = context.getClock();
+		this.context = context;
 		for (int i = 1; i <= servicePointNumber; i++) {
-			ServicePoint servicePoint = new ServicePoint();
+			ServicePoint servicePoint = new ServicePoint(context.nextServicePointId());
 			servicePoints.add(servicePoint);
 		}
-		this.index = count++;
+		this.idleServers = new FirstFreePool(servicePointNumber);
+		this.index = context.nextServiceUnitIndex();
+	}
+
+	/**
+	 * Sets the policy choosing which idle service point serves the next customer.
+	 * Must be called before any service begins.
+	 *
+	 * @param selection the server-selection policy.
+	 */
+	public void setServerSelection(ServerSelection selection) {
+		switch (selection) {
+			case FIRST_FREE:
+				setIdleServers(new FirstFreePool(servicePoints.size()));
+				break;
+			case RANDOM:
+				// the random choices use their own stream of the run
+				setIdleServers(new RandomPool(servicePoints.size(), context.nextStream(11)));
+				break;
+			case LEAST_BUSY:
+				setIdleServers(new LeastBusyPool(servicePoints));
+				break;
+		}
+	}
+
+	/**
+	 * Replaces the pool of idle service points, e.g. by one implementing another server-selection policy.
+	 * Must be called before any service begins, with all service points idle in the new pool.
+	 *
+	 * @param idleServers the new pool of idle service points.
+	 */
+	public void setIdleServers(IdleServerPool idleServers) {
+		this.idleServers = idleServers;
 	}
 
 	/**
@@ -127,6 +184,17 @@ public class ServiceUnit {
 		return index;
 	}
 
+	/**
+	 * Replaces the generator of the service times, e.g. by an empirical distribution of measured durations.
+	 * Service times already drawn from the previous generator are discarded.
+	 *
+	 * @param generator the new generator for creating service times.
+	 */
+	public void setGenerator(ContinuousGenerator generator) {
+		this.generator = generator;
+		nextServiceTime = BLOCK;
+	}
+
 	/**
 	 * Adds a customer to the waiting queue.
 	 *
@@ -137,82 +205,77 @@ public class ServiceUnit {
 	}
 
 	/**
-	 * Completes the service for the first customer in the serving queue.
+	 * Completes the service at a service point and frees it.
+	 * The departure event carries the index of the service point, so no search is needed.
 	 *
+	 * @param servicePointIndex the index of the service point in this unit, taken from the departure event.
 	 * @return the customer whose service was completed.
 	 */
-	public Customer endService() {
-		return servingQueue.poll();
+	public Customer endService(int servicePointIndex) {
+		ServicePoint servicePoint = servicePoints.get(servicePointIndex);
+		Customer customer = servicePoint.getCurrentCustomer();
+		servicePoint.setCurrentCustomer(null);
+		idleServers.release(servicePointIndex);
+		return customer;
 	}
 
 	/**
 	 * Begins servicing the first customer in the queue.
-	 * Assigns the customer to an available service point and schedules a service completion event.
+	 * Assigns the customer to the idle service point chosen by the server-selection policy and schedules a service completion event
+	 * carrying the customer's id and the index of the service point.
 	 *
 	 * @return the service point where the customer is being served.
 	 */
 	public ServicePoint beginService() {
 		Customer servingCustomer = queue.poll();
-		servingQueue.add(servingCustomer);
-		ServicePoint selectedServicePoint = null;
+		int selectedIndex = idleServers.seize();
+		ServicePoint selectedServicePoint = servicePoints.get(selectedIndex);
+		selectedServicePoint.setCurrentCustomer(servingCustomer);
 
-		for (ServicePoint servicePoint : servicePoints) {
-			if (servicePoint.isAvailable()) {
-				servicePoint.setCurrentCustomer(servingCustomer);
-				selectedServicePoint = servicePoint;
-				break;
-			}
-		}
-
-		double serviceTime;
-		do {
-			serviceTime = generator.sample(); // Generate service time
-		} while (serviceTime <= 0);
+		double serviceTime = nextServiceTime();
 
 		servingCustomer.addServiceTime(serviceTime);
 		selectedServicePoint.addServiceTime(serviceTime);
 		selectedServicePoint.addCustomer();
-		eventList.add(new Event(eventTypeScheduled, Clock.getInstance().getClock() + serviceTime));
+		eventList.add(eventTypeScheduled, clock.getClock() + serviceTime, servingCustomer.getId(), selectedIndex);
 
 		return selectedServicePoint;
 	}
 
 	/**
-	 * Checks if all service points in this unit are currently reserved.
+	 * Takes the next positive service time from the block drawn in advance, drawing a new block when it runs out.
 	 *
-	 * @return {@code true} if all service points are reserved, {@code false} otherwise.
+	 * @return the service time.
 	 */
-	public boolean isReserved() {
-		for (ServicePoint servicePoint : servicePoints) {
-			if (servicePoint.isAvailable()) {
-				return false;
+	private double nextServiceTime() {
+		while (true) {
+			if (nextServiceTime == BLOCK) {
+				generator.sample(serviceTimes, 0, BLOCK);
+				nextServiceTime = 0;
+			}
+			double serviceTime = serviceTimes[nextServiceTime++];
+			if (serviceTime > 0) {
+				return serviceTime;
 			}
 		}
-		return true;
 	}
 
 	/**
-	 * Checks if there are customers waiting in the queue.
+	 * Checks if all service points in this unit are currently reserved.
 	 *
-	 * @return {@code true} if the queue is not empty, {@code false} otherwise.
+	 * @return {@code true} if all service points are reserved, {@code false} otherwise.
 	 */
-	public boolean isOnQueue() {
-		return !queue.isEmpty();
+	public boolean isReserved() {
+		return idleServers.isEmpty();
 	}
 
 	/**
-	 * Retrieves the service point assigned to a specific customer.
+	 * Checks if there are customers waiting in the queue.
 	 *
-	 * @param customer the customer whose service point is to be retrieved.
-	 * @return the service point assigned to the customer, or {@code null} if none.
+	 * @return {@code true} if the queue is not empty, {@code false} otherwise.
 	 */
-	public ServicePoint getSelectedServicePoint(Customer customer) {
-		for (ServicePoint servicePoint : servicePoints) {
-			if (!servicePoint.isAvailable() && servicePoint.getCurrentCustomer().equals(customer)) {
-				return servicePoint;
-			}
-		}
-		return null;
+	public boolean isOnQueue() {
+		return !queue.isEmpty();
 	}
 
 	/**
@@ -223,12 +286,4 @@ public class ServiceUnit {
 	public ArrayList<ServicePoint> getServicePoints() {
 		return servicePoints;
 	}
-
-	/**
-	 * Resets the static counter for service unit indices.
-	 * Useful when starting a new simulation.
-	 */
-	public static void resetCount() {
-		count = 1;
-	}
 }
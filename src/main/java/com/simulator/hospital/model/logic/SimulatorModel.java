@@ -1,11 +1,13 @@
 package com.simulator.hospital.model.logic;
 
+import com.simulator.eduni.distributions.Bernoulli;
 import com.simulator.eduni.distributions.ContinuousGenerator;
 import com.simulator.eduni.distributions.Normal;
 import com.simulator.hospital.framework.*;
 import com.simulator.eduni.distributions.Negexp;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Models a hospital simulation where customers are processed through multiple service points sequentially.
@@ -19,6 +21,11 @@ public class SimulatorModel {
      */
     private double simulationTime = 0;
 
+    /**
+     * The state of this simulation run: clock, ID counters and customer statistics.
+     */
+    private final SimulationContext context;
+
     /**
      * The simulation clock to track the current simulation time.
      */
@@ -27,18 +34,28 @@ public class SimulatorModel {
     /**
      * The event list to manage and process simulation events.
      */
-    protected EventList eventList;
+    protected IEventList eventList;
 
     /**
      * The arrival process to generate customer arrival events.
      */
     private final ArrivalProcess arrivalProcess;
 
+    /**
+     * The stream deciding the type of each new customer: 1 for a specialist customer, 0 for a general one.
+     */
+    private final Bernoulli customerTypes;
+
     /**
      * Array of service units representing the stages in the simulation.
      */
     private final ServiceUnit[] serviceUnits;
 
+    /**
+     * Receives the outcome of every B- and C-phase event.
+     */
+    private ModelListener listener = ModelListener.NONE;
+
     /**
      * The average waiting time of customers in the simulation.
      */
@@ -66,25 +83,86 @@ public class SimulatorModel {
      * @param avgArrivalTime   Average arrival time for customers.
      */
     public SimulatorModel(int numberRegister, double avgServiceTime1, int numberGeneral, double avgServiceTime2, int numberSpecialist, double avgServiceTime3, double avgArrivalTime) {
-        clock = Clock.getInstance();
+        this(numberRegister, avgServiceTime1, numberGeneral, avgServiceTime2, numberSpecialist, avgServiceTime3, avgArrivalTime, new EventList());
+    }
+
+    /**
+     * Constructs a new simulation model with the specified parameters and event list implementation.
+     *
+     * @param numberRegister   Number of service points in the registration unit.
+     * @param avgServiceTime1  Average service time for the registration unit.
+     * @param numberGeneral    Number of service points in the general unit.
+     * @param avgServiceTime2  Average service time for the general unit.
+     * @param numberSpecialist Number of service points in the specialist unit.
+     * @param avgServiceTime3  Average service time for the specialist unit.
+     * @param avgArrivalTime   Average arrival time for customers.
+     * @param eventList        The empty event list used to schedule events.
+     */
+    public SimulatorModel(int numberRegister, double avgServiceTime1, int numberGeneral, double avgServiceTime2, int numberSpecialist, double avgServiceTime3, double avgArrivalTime, IEventList eventList) {
+        this(numberRegister, avgServiceTime1, numberGeneral, avgServiceTime2, numberSpecialist, avgServiceTime3, avgArrivalTime, eventList, new SimulationContext());
+    }
 
-        // Reset components for a new simulation run
-        clock.reset();
-        ServiceUnit.resetCount();
-        Customer.resetCount();
-        ServicePoint.resetCount();
+    /**
+     * Constructs a new simulation model with the specified parameters, event list and run context.
+     * Each model needs its own context; models with separate contexts can run concurrently.
+     *
+     * @param numberRegister   Number of service points in the registration unit.
+     * @param avgServiceTime1  Average service time for the registration unit.
+     * @param numberGeneral    Number of service points in the general unit.
+     * @param avgServiceTime2  Average service time for the general unit.
+     * @param numberSpecialist Number of service points in the specialist unit.
+     * @param avgServiceTime3  Average service time for the specialist unit.
+     * @param avgArrivalTime   Average arrival time for customers.
+     * @param eventList        The empty event list used to schedule events.
+     * @param context          The new context holding the state of this simulation run.
+     */
+    public SimulatorModel(int numberRegister, double avgServiceTime1, int numberGeneral, double avgServiceTime2, int numberSpecialist, double avgServiceTime3, double avgArrivalTime, IEventList eventList, SimulationContext context) {
+        this.context = context;
+        clock = context.getClock();
 
-        eventList = new EventList();
+        this.eventList = eventList;
         serviceUnits = new ServiceUnit[3];
 
         // Initialize service units with normal distribution for service times
-        serviceUnits[0] = new ServiceUnit(new Normal(avgServiceTime1, 6, 2), eventList, EventType.DEP1, numberRegister);
-        serviceUnits[1] = new ServiceUnit(new Normal(avgServiceTime2, 6, 2), eventList, EventType.DEP2, numberGeneral);
-        serviceUnits[2] = new ServiceUnit(new Normal(avgServiceTime3, 6, 2), eventList, EventType.DEP3, numberSpecialist);
+        // (fixed seeds unless the context provides a seed stream for this run)
+        serviceUnits[0] = new ServiceUnit(createServiceTime(avgServiceTime1), eventList, EventType.DEP1, numberRegister, context);
+        serviceUnits[1] = new ServiceUnit(createServiceTime(avgServiceTime2), eventList, EventType.DEP2, numberGeneral, context);
+        serviceUnits[2] = new ServiceUnit(createServiceTime(avgServiceTime3), eventList, EventType.DEP3, numberSpecialist, context);
 
         // Initialize arrival process with exponential distribution for arrival times
-        ContinuousGenerator arrivalTime = new Negexp(avgArrivalTime, 5);
-        arrivalProcess = new ArrivalProcess(arrivalTime, eventList, EventType.ARR1);
+        ContinuousGenerator arrivalTime = new Negexp(avgArrivalTime, context.nextStream(5));
+        arrivalProcess = new ArrivalProcess(arrivalTime, eventList, EventType.ARR1, context);
+
+        // Draw customer types from their own stream, with the probability configured in the context
+        customerTypes = new Bernoulli(context.getSpecialistProbability(), context.nextStream(7));
+
+        // Service units choose the first free service point unless the context selects another policy
+        if (context.getServerSelection() != ServerSelection.FIRST_FREE) {
+            for (ServiceUnit serviceUnit : serviceUnits) {
+                serviceUnit.setServerSelection(context.getServerSelection());
+            }
+        }
+    }
+
+    /**
+     * Creates the normal service time generator of a service unit, using the normal method of the context.
+     *
+     * @param avgServiceTime The average service time.
+     * @return The service time generator.
+     */
+    private ContinuousGenerator createServiceTime(double avgServiceTime) {
+        Normal serviceTime = new Normal(avgServiceTime, 6, context.nextStream(2));
+        serviceTime.setMethod(context.getNormalMethod());
+        return serviceTime;
+    }
+
+    /**
+     * Sets the listener receiving the outcome of every B- and C-phase event, e.g. to animate them.
+     *
+     * @param listener The listener, or {@link ModelListener#NONE} to ignore the outcomes.
+     */
+    public void setListener(ModelListener listener) {
+        this.listener = listener;
     }
 
     /**
@@ -141,67 +219,65 @@ public class SimulatorModel {
 
     /**
      * Processes a B-phase event, such as customer arrivals and departures.
+     * The customer and the service unit it moves to are reported to the listener.
      *
      * @param t The event to process.
-     * @return A key-value pair where the key is the customer and the value is the service unit.
      */
-    public AbstractMap.SimpleEntry<Customer, ServiceUnit> runEvent(Event t) {
+    public void runEvent(Event t) {
         Customer customer;
         ServicePoint currentServicePoint = null;
-        AbstractMap.SimpleEntry<Customer, ServiceUnit> result = new AbstractMap.SimpleEntry<>(null, null);
 
         switch ((EventType) t.getType()) {
             case ARR1:
                 // Handle a new customer arrival: add to the queue of the first service point
-                customer = new Customer();
+                customer = new Customer(context, customerTypes.sample() == 1 ? CustomerType.SPECIALIST : CustomerType.GENERAL);
                 serviceUnits[0].addQueue(customer);
                 arrivalProcess.generateNextEvent();        // Schedule the next arrival
-                result = new AbstractMap.SimpleEntry<>(customer, serviceUnits[0]);
-                Trace.out(Trace.Level.INFO, "Customer " + customer.getId() + " is added to queue Register");
+                listener.customerMoved(customer, serviceUnits[0]);
+                Trace.event(Trace.Level.INFO, clock.getClock(), "Customer %d is added to queue Register", customer.getId());
                 break;
 
             case DEP1:
                 // Handle departure from service point 1: move customer to the queue of service point 2
-                customer = serviceUnits[0].endService();           // finish service, remove first customer from serving queue
-                currentServicePoint = serviceUnits[0].getSelectedServicePoint(customer);
-                currentServicePoint.setCurrentCustomer(null); // remove customer info from the served service point
-                Trace.out(Trace.Level.INFO, "Customer " + customer.getId() + " finished service at service point " + currentServicePoint.getId());
-                if (customer.getCustomerType().equals("general")) {        // add customer to next suitable service unit according to customer type
+                // the event names the service point, so the finished customer is found without a search
+                currentServicePoint = serviceUnits[0].getServicePoints().get(t.getServicePointIndex());
+                customer = serviceUnits[0].endService(t.getServicePointIndex());   // finish service and free the service point
+                Trace.event(Trace.Level.INFO, clock.getClock(), "Customer %d finished service at service point %d", customer.getId(), currentServicePoint.getId());
+                if (customer.getCustomerType() == CustomerType.GENERAL) {        // add customer to next suitable service unit according to customer type
                     serviceUnits[1].addQueue(customer);
-                    result = new AbstractMap.SimpleEntry<>(customer, serviceUnits[1]);
-                    Trace.out(Trace.Level.INFO, "Customer " + customer.getId() + " is added to queue General.");
+                    listener.customerMoved(customer, serviceUnits[1]);
+                    Trace.event(Trace.Level.INFO, clock.getClock(), "Customer %d is added to queue General.", customer.getId());
                 } else {
                     serviceUnits[2].addQueue(customer);
-                    result = new AbstractMap.SimpleEntry<>(customer, serviceUnits[2]);
-                    Trace.out(Trace.Level.INFO, "Customer " + customer.getId() + " is added to queue Specialist.");
+                    listener.customerMoved(customer, serviceUnits[2]);
+                    Trace.event(Trace.Level.INFO, clock.getClock(), "Customer %d is added to queue Specialist.", customer.getId());
                 }
                 break;
 
             case DEP2:
                 // Handle departure from service unit 2: complete service and remove customer from the system
-                customer = serviceUnits[1].endService();           // finish service, remove first customer from serving queue
-                currentServicePoint = serviceUnits[1].getSelectedServicePoint(customer);
-                currentServicePoint.setCurrentCustomer(null);       // remove customer info from the served service point
-                Trace.out(Trace.Level.INFO, "Customer " + customer.getId() + " finished service at service point " + currentServicePoint.getId());
-                customer.setRemovalTime(Clock.getInstance().getClock());   // set end time for customer
-                Customer.setServedCustomerCount();
+                // the event names the service point, so the finished customer is found without a search
+                currentServicePoint = serviceUnits[1].getServicePoints().get(t.getServicePointIndex());
+                customer = serviceUnits[1].endService(t.getServicePointIndex());   // finish service and free the service point
+                Trace.event(Trace.Level.INFO, clock.getClock(), "Customer %d finished service at service point %d", customer.getId(), currentServicePoint.getId());
+                customer.setRemovalTime(clock.getClock());   // set end time for customer
+                context.addServedCustomer();
                 customer.reportResults();
-                result = new AbstractMap.SimpleEntry<>(customer, null);       // customer is removed from system, return new position = null
+                listener.customerMoved(customer, null);       // customer is removed from system, new position = null
                 break;
 
             case DEP3:
                 // Handle departure from service unit 3: remove customer from the system
-                customer = serviceUnits[2].endService();           // finish service, remove first customer from serving queue
-                currentServicePoint = serviceUnits[2].getSelectedServicePoint(customer);
-                currentServicePoint.setCurrentCustomer(null);
-                Trace.out(Trace.Level.INFO, "Customer " + customer.getId() + " finished service at service point " + currentServicePoint.getId());// remove customer info from the served service point
-                customer.setRemovalTime(Clock.getInstance().getClock());   // set end time for customer
-                Customer.setServedCustomerCount();
+                // the event names the service point, so the finished customer is found without a search
+                currentServicePoint = serviceUnits[2].getServicePoints().get(t.getServicePointIndex());
+                customer = serviceUnits[2].endService(t.getServicePointIndex());   // finish service and free the service point
+                Trace.event(Trace.Level.INFO, clock.getClock(), "Customer %d finished service at service point %d", customer.getId(), currentServicePoint.getId());
+                customer.setRemovalTime(clock.getClock());   // set end time for customer
+                context.addServedCustomer();
                 customer.reportResults();
-                result = new AbstractMap.SimpleEntry<>(customer, null);   // customer is removed from system, return new position = null
+                listener.customerMoved(customer, null);   // customer is removed from system, new position = null
                 break;
         }
-        return result;
     }
 
     /**
@@ -215,35 +291,32 @@ public class SimulatorModel {
 
     /**
      * Processes C-phase events, starting service for customers if conditions are met.
-     *
-     * @return A map where the keys are customers and the values are their service points.
+     * Each customer and the service point serving it are reported to the listener.
      */
-    public HashMap<Customer, ServicePoint> tryCEvents() {
-        HashMap<Customer, ServicePoint> results = new HashMap<>();
+    public void tryCEvents() {
         for (ServiceUnit serviceUnit : serviceUnits) {
             if (!serviceUnit.isReserved() && serviceUnit.isOnQueue()) {
                 ServicePoint servicePoint = serviceUnit.beginService();
-                Customer customer = servicePoint.getCurrentCustomer();
-                results.put(customer, servicePoint);
+                listener.serviceStarted(servicePoint.getCurrentCustomer(), servicePoint);
+                Trace.event(Trace.Level.INFO, clock.getClock(), "Customer %d is being served at service point %d", servicePoint.getCurrentCustomer().getId(), servicePoint.getId());
             }
         }
-        return results;
     }
 
     /**
      * Outputs the simulation results, including utilization and average waiting times.
      */
     public void results() {
-        Trace.out(Trace.Level.INFO, "Simulation ended at " + Clock.getInstance().getClock());
-        Trace.out(Trace.Level.INFO, "Average waiting time of customers " + Customer.getAvrWaitingTime());
-        avgWaitingTime = Customer.getAvrWaitingTime();
+        Trace.out(Trace.Level.INFO, () -> "Simulation ended at " + clock.getClock());
+        Trace.out(Trace.Level.INFO, () -> "Average waiting time of customers " + context.getAvgWaitingTime());
+        avgWaitingTime = context.getAvgWaitingTime();
         for (ServiceUnit serviceUnit : serviceUnits) {
             for (ServicePoint servicePoint : serviceUnit.getServicePoints()) {
                 double serviceTime = servicePoint.getTotalServiceTime();
                 int totalCustomer = servicePoint.getTotalCustomer();
                 servicePoint.setUtilization((Math.round(serviceTime / simulationTime * 10.0)) / 10.0);
-                Trace.out(Trace.Level.INFO, "Service Point :" + servicePoint.getId());
-                Trace.out(Trace.Level.INFO, "Total service time: " + serviceTime + ", mean service time: " + servicePoint.getMeanServiceTime() + ", total customer: " + totalCustomer + ", utilization: " + servicePoint.getUtilization());
+                Trace.out(Trace.Level.INFO, () -> "Service Point :" + servicePoint.getId());
+                Trace.out(Trace.Level.INFO, () -> "Total service time: " + serviceTime + ", mean service time: " + servicePoint.getMeanServiceTime() + ", total customer: " + totalCustomer + ", utilization: " + servicePoint.getUtilization());
                 customerCount.add(totalCustomer);
                 utilization.add(servicePoint.getUtilization());
             }
@@ -285,4 +358,13 @@ public class SimulatorModel {
     public Clock getClock() {
         return clock;
     }
+
+    /**
+     * Gets the context holding the state of this simulation run.
+     *
+     * @return The simulation context.
+     */
+    public SimulationContext getContext() {
+        return context;
+    }
 }
@@ -1,5 +1,6 @@
 package com.simulator.hospital.view;
 
+import com.simulator.hospital.model.logic.CustomerType;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 
@@ -18,7 +19,7 @@ public class CustomerView {
     private boolean isInQueue;
     private Circle circle;
     private Color color;
-    private String customerType;
+    private CustomerType customerType;
 
     /**
      * Constructs a new CustomerView object with the specified id, x and y coordinates, and service unit name.
@@ -39,9 +40,9 @@ public class CustomerView {
     /**
      * Sets the customer type and updates the color of the circle based on the customer type.
      *
-     * @param customerType the type of the customer (e.g., "general" or other types)
+     * @param customerType the type of the customer
      */
-    public void setCustomerType(String customerType) {
+    public void setCustomerType(CustomerType customerType) {
         this.customerType = customerType;
     }
 
@@ -50,7 +51,7 @@ public class CustomerView {
      *
      * @return the type of the customer
      */
-    public String getCustomerType() {
+    public CustomerType getCustomerType() {
         return this.customerType;
     }
 
@@ -90,10 +91,10 @@ public class CustomerView {
     /**
      * Sets the color of the customer's circle based on the customer type.
      *
-     * @param customerType the type of the customer (e.g., "general" or other types)
+     * @param customerType the type of the customer
      */
-    private void setColor(String customerType) {
-        if (this.customerType.equals("general")) {
+    private void setColor(CustomerType customerType) {
+        if (customerType == CustomerType.GENERAL) {
             this.color = Color.GREEN;
         } else {
             this.color = Color.RED;
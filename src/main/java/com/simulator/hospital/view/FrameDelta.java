@@ -0,0 +1,109 @@
+package com.simulator.hospital.view;
+
+import com.simulator.hospital.model.logic.CustomerType;
+import com.simulator.hospital.model.logic.EventLogReader;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+/**
+ * Collects the changes of the simulation view during one animation frame, so that they are applied to the scene
+ * once per frame however many outcomes the frame plays: the latest clock value, the queue lengths and the last
+ * move of every customer that moved. The cost of a frame is then bounded by the number of customers on screen
+ * rather than by the number of events.
+ */
+class FrameDelta implements EventLogReader.Handler {
+
+    /**
+     * The last move of a customer in the frame.
+     */
+    static final class Move {
+        int customerId;
+        CustomerType customerType;      // the type, if the customer moved to a queue in this frame, otherwise null
+        int serviceUnitIndex;           // the service unit, or -1 if the customer left the system
+        int servicePointIndex;          // the service point serving the customer, or -1 if it is in a queue or left
+    }
+
+    private final LinkedHashMap<Integer, Move> moves = new LinkedHashMap<>();
+    private final ArrayDeque<Move> freeMoves = new ArrayDeque<>();
+    private final int[] queueLengths = new int[4];     // indexed by service unit index, kept from frame to frame
+    private double clock = Double.NaN;
+    private boolean queuesChanged;
+
+    @Override
+    public void customerMoved(double time, int customerId, CustomerType customerType, int serviceUnitIndex) {
+        clock = time;
+        if (serviceUnitIndex > 0) {
+            queueLengths[serviceUnitIndex]++;
+            queuesChanged = true;
+        }
+        Move move = getMove(customerId);
+        move.customerType = customerType;
+        move.serviceUnitIndex = serviceUnitIndex;
+        move.servicePointIndex = -1;
+    }
+
+    @Override
+    public void serviceStarted(double time, int customerId, int serviceUnitIndex, int servicePointIndex) {
+        clock = time;
+        queueLengths[serviceUnitIndex]--;
+        queuesChanged = true;
+        Move move = getMove(customerId);
+        move.serviceUnitIndex = serviceUnitIndex;
+        move.servicePointIndex = servicePointIndex;
+    }
+
+    /**
+     * @return the simulation time of the last outcome of the frame, or NaN if there was none
+     */
+    double getClock() {
+        return clock;
+    }
+
+    /**
+     * @return true if a queue length changed in the frame
+     */
+    boolean haveQueuesChanged() {
+        return queuesChanged;
+    }
+
+    /**
+     * Gets the number of customers in the queue of a service unit. A replay started in the middle of a run
+     * misses the customers queued earlier, so the length is never less than 0.
+     *
+     * @param serviceUnitIndex the index of the service unit
+     * @return the queue length
+     */
+    int getQueueLength(int serviceUnitIndex) {
+        return Math.max(queueLengths[serviceUnitIndex], 0);
+    }
+
+    /**
+     * @return the last move of every customer that moved in the frame, in the order they first moved
+     */
+    Collection<Move> getMoves() {
+        return moves.values();
+    }
+
+    /**
+     * Starts a new frame, keeping the queue lengths.
+     */
+    void clear() {
+        freeMoves.addAll(moves.values());
+        moves.clear();
+        clock = Double.NaN;
+        queuesChanged = false;
+    }
+
+    private Move getMove(int customerId) {
+        Move move = moves.get(customerId);
+        if (move == null) {
+            move = freeMoves.isEmpty() ? new Move() : freeMoves.pop();
+            move.customerId = customerId;
+            move.customerType = null;
+            moves.put(customerId, move);
+        }
+        return move;
+    }
+}
@@ -1,16 +1,20 @@
 package com.simulator.hospital.view;
 
 import com.simulator.hospital.controller.SettingsController;
+import com.simulator.hospital.model.logic.EventLogReader;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controller class for managing the main menu view of the hospital simulation application.
@@ -21,13 +25,13 @@ public class MainMenuViewControl {
     @FXML
     private ChoiceBox<String> registerChoice, generalChoice, specialistChoice, delayField;
     @FXML
-    private Button startButton;
+    private Button startButton, replayButton;
 
     private final SettingsController settingsController = new SettingsController();
 
     /**
      * Initializes the main menu view control.
-     * Sets up choice boxes, numeric validation, loads saved settings, and sets the start button action.
+     * Sets up choice boxes, numeric validation, loads saved settings, and sets the start and replay button actions.
      */
     @FXML
     private void initialize() {
@@ -35,6 +39,7 @@ public class MainMenuViewControl {
         setupNumericValidation(); //add validator for TextField elements
         loadSavedSettings();
         startButton.setOnAction(event -> {startButtonAction();}); //start simulation
+        replayButton.setOnAction(event -> {replayButtonAction();}); //replay a recorded run
     }
 
     /**
@@ -169,6 +174,59 @@ public class MainMenuViewControl {
         }
     }
 
+    /**
+     * Handles the action for the replay button.
+     * Opens an event log recorded by the headless runner, asks for the simulation time to start at,
+     * and loads the simulation scene replaying the log from there.
+     */
+    private void replayButtonAction() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Open Event Log");
+        Stage stage = (Stage) replayButton.getScene().getWindow();
+        File file = chooser.showOpenDialog(stage);
+        if (file == null) {
+            return;
+        }
+        EventLogReader log;
+        try {
+            log = new EventLogReader(file.toPath());
+        } catch (IOException e) {
+            showAlert("Invalid Event Log", e.getMessage());
+            return;
+        }
+
+        //ask where to start, e.g. to scrub to a busy period of a long run
+        TextInputDialog dialog = new TextInputDialog("0");
+        dialog.setTitle("Replay");
+        dialog.setHeaderText(null);
+        dialog.setContentText("Start at simulation time (min):");
+        Optional<String> start = dialog.showAndWait();
+        if (start.isEmpty() || !start.get().trim().matches("\\d+(\\.\\d+)?")) {
+            if (start.isPresent()) {
+                showAlert("Invalid Input", "Please enter only numbers.");
+            }
+            log.close();
+            return;
+        }
+
+        try {
+            //load simulation scene
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/simulator/hospital/nsimulator.fxml"));
+            Parent root = loader.load();
+
+            //replay the log instead of running the model
+            SimuViewControl simuViewControl = loader.getController();
+            simuViewControl.initializeReplay(log, log.seek(Double.parseDouble(start.get().trim())), getDelayTime());
+
+            //change scene
+            simuViewControl.setCloseEventListener(stage);
+            stage.setScene(new Scene(root)); //change scene to simulation
+        } catch (IOException | IllegalArgumentException e) {
+            log.close();
+            showAlert("Cannot Replay", e.getMessage());
+        }
+    }
+
     /**
      * Gets the number of register service points.
      *
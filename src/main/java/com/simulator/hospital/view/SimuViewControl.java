@@ -3,9 +3,13 @@ package com.simulator.hospital.view;
 import com.simulator.hospital.controller.SimuController;
 
 import com.simulator.hospital.model.logic.Customer;
+import com.simulator.hospital.model.logic.CustomerType;
+import com.simulator.hospital.model.logic.EventLogReader;
+import com.simulator.hospital.model.logic.OutcomeQueue;
 import com.simulator.hospital.model.logic.ServicePoint;
 import com.simulator.hospital.model.logic.ServiceUnit;
 import com.simulator.hospital.model.logic.SimulatorModel;
+import javafx.animation.AnimationTimer;
 import javafx.animation.PathTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -36,7 +40,7 @@ public class SimuViewControl {
     public Label registerQueue, generalQueue, specialistQueue, registerLabel1, registerLabel2, registerLabel3,
             generalLabel1, generalLabel2, generalLabel3, specialistLabel1, specialistLabel2, specialistLabel3, timeLabel;
     @FXML
-    public Button backButton;
+    public Button backButton, resultButton;
     @FXML
     private Line registerLine, generalLine, specialistLine;
     @FXML
@@ -45,12 +49,14 @@ public class SimuViewControl {
     private Slider speedSlider;
 
     private SimuController controller;
-    private boolean activated = false;
     private HashMap<Integer, CustomerView> customerViewList;
     private double[] registerCoors, generalCoors, specialistCoors, registerQueueCoors, generalQueueCoors, specialistQueueCoors, arrivalCoors, exitCoors;
     private Thread simulatorThread;
-    private Thread speedMonitorThread;
+    private AnimationTimer animationTimer;
+    private FrameDelta frame;
     private Stage stage;
+    private Runnable showResults;
+    private EventLogReader replayLog;
 
     /* ========================
           FXML Event Handlers
@@ -68,12 +74,13 @@ public class SimuViewControl {
             if (simulatorThread != null && simulatorThread.isAlive()) {
                 simulatorThread.interrupt();
             }
-            if (speedMonitorThread != null && speedMonitorThread.isAlive()) {
-                speedMonitorThread.interrupt();
+            if (animationTimer != null) {
+                animationTimer.stop();
+                animationTimer = null;
             }
+            closeReplayLog();
 
             //reset values
-            activated = false;
             controller = null;
             registerCoors = null;
             generalCoors = null;
@@ -96,34 +103,32 @@ public class SimuViewControl {
     }
 
     /**
-     * Initializes the simulation view control.
-     * Starts the speed monitor thread.
+     * Handles the action for the results button.
+     * Stops the animation and replaces the simulation scene with the results of the finished run.
+     *
+     * @param mouseEvent the mouse event
      */
     @FXML
-    private void initialize() {
-        //start speed monitor thread
-        speedMonitorThread = new Thread(() -> {
-            while (!Thread.currentThread().isInterrupted()) { // Check for thread interruptions
-                if (activated && controller != null) {
-                    long delay = (long) speedSlider.getValue() ; //fetch speed from UI (may need to be converted to delay time)
-                    controller.setDelayTime(delay);
-                    try {
-                        Thread.sleep(100); // Polling interval for speed adjustments
-                    } catch (InterruptedException e) {
-                        System.err.println("Speed monitor thread interrupted.");
-                        break; // Exit loop on interruption
-                    }
-                } else {
-                    try {
-                        Thread.sleep(100); // Wait until simulation is activated
-                    } catch (InterruptedException e) {
-                        System.err.println("Speed monitor thread interrupted.");
-                        break; // Exit loop on interruption
-                    }
-                }
-            }
-        });
-        speedMonitorThread.start();
+    public void resultButtonAction(MouseEvent mouseEvent) {
+        if (showResults == null) {
+            return;
+        }
+        if (animationTimer != null) {
+            animationTimer.stop();
+            animationTimer = null;
+        }
+        showResults.run();
+    }
+
+    /**
+     * Enables the results button once the model has finished. The model usually finishes long before the animation,
+     * so the results are only shown when asked for, without interrupting the animation.
+     *
+     * @param showResults shows the results in place of the simulation scene
+     */
+    public void setResultsReady(Runnable showResults) {
+        this.showResults = showResults;
+        resultButton.setDisable(false);
     }
 
     /* ========================
@@ -153,8 +158,87 @@ public class SimuViewControl {
         setCoordinates(registerCount, generalCount, specialistCount);
 
         simulatorThread.start();//start controller thread parallel with UI
-        activated = true;
 
+        // the model runs ahead on its thread, the animation takes its outcomes off the queue at the speed of the slider
+        OutcomeQueue outcomes = controller.getOutcomes();
+        frame = new FrameDelta();
+        animationTimer = new StepTimer() {
+            @Override
+            int readyStep() {
+                boolean closed = outcomes.isClosed();      // read first, so that every outcome of a closed queue is available
+                int available = outcomes.available();
+                if (available == 0) {
+                    return closed ? -1 : 0;
+                }
+                double time = outcomes.getTime(0);
+                boolean served = outcomes.isServiceStarted(0);
+                int end = 1;
+                while (end < available && outcomes.getTime(end) == time && outcomes.isServiceStarted(end) == served) {
+                    end++;
+                }
+                // the last step may still grow while the model is running
+                return end < available || closed ? end : 0;
+            }
+
+            @Override
+            void playStep(int count) {
+                outcomes.replay(count, frame);
+            }
+        };
+        animationTimer.start();
+    }
+
+    /**
+     * Initializes the view to replay a recorded event log instead of running the model.
+     * The outcomes recorded at the same simulation time and phase are replayed together, one step each half of the
+     * delay selected with the speed slider, like a live run, so the log can be reviewed at any speed.
+     *
+     * @param log the event log to replay
+     * @param from the index of the first record to replay, e.g. found with {@link EventLogReader#seek(double)}
+     * @param delayTime the initial delay of the speed slider in milliseconds
+     * @throws IllegalArgumentException if a service unit of the recorded model has more service points than the view can show
+     */
+    public void initializeReplay(EventLogReader log, int from, long delayTime) {
+        for (int unit = 1; unit <= 3; unit++) {
+            int count = log.getServicePointCount(unit);
+            if (count < 1 || count > 2) {
+                throw new IllegalArgumentException("Cannot replay a log with " + count + " service points in service unit " + unit + ", the view shows 1 or 2");
+            }
+        }
+        this.customerViewList = new HashMap<>();
+        this.replayLog = log;
+        speedSlider.setValue(delayTime);
+        int registerCount = log.getServicePointCount(1);
+        int generalCount = log.getServicePointCount(2);
+        int specialistCount = log.getServicePointCount(3);
+        setupScene(registerCount, generalCount, specialistCount);
+        setCoordinates(registerCount, generalCount, specialistCount);
+
+        frame = new FrameDelta();
+        animationTimer = new StepTimer() {
+            private int position = from;
+
+            @Override
+            int readyStep() {
+                if (position >= log.size()) {
+                    return -1;
+                }
+                double time = log.getTime(position);
+                boolean served = log.isServiceStarted(position);
+                int end = position + 1;
+                while (end < log.size() && log.getTime(end) == time && log.isServiceStarted(end) == served) {
+                    end++;
+                }
+                return end - position;
+            }
+
+            @Override
+            void playStep(int count) {
+                log.replay(position, position + count, frame);
+                position += count;
+            }
+        };
+        animationTimer.start();
     }
 
     /**
@@ -180,15 +264,8 @@ public class SimuViewControl {
      */
     private void setCoordinates(int registerCount, int generalCount, int specialistCount) {
         //wait for the rootPane's layout to complete
-        SimulatorModel simulatorModel = this.controller.getSimuModel();
-
-        ServiceUnit registerUnit = simulatorModel.getServiceUnits()[0];
-        ServiceUnit generalUnit = simulatorModel.getServiceUnits()[1];
-        ServiceUnit specialistUnit = simulatorModel.getServiceUnits()[2];
-
-        ArrayList<ServicePoint> registerSPs = registerUnit.getServicePoints();
-        ArrayList<ServicePoint> generalSPs = generalUnit.getServicePoints();
-        ArrayList<ServicePoint> specialistSPs = specialistUnit.getServicePoints();
+        // a replay has no model, its coordinates are only kept in the view
+        SimulatorModel simulatorModel = this.controller == null ? null : this.controller.getSimuModel();
 
 
         rootPane.boundsInParentProperty().addListener((observable, oldBounds, newBounds) -> {
@@ -223,18 +300,24 @@ public class SimuViewControl {
                 arrivalCoors = new double[]{0, rootPane.getHeight() / 2};
                 exitCoors = new double[]{rootPane.getWidth(), rootPane.getHeight() / 2};
 
-                //set queue coor in model
-                // SUqueue [] = [queueX,queueY]
-                this.registerServiceUnitCoordinate(registerUnit, registerQueueCoors);
-                this.registerServiceUnitCoordinate(generalUnit, generalQueueCoors);
-                this.registerServiceUnitCoordinate(specialistUnit, specialistQueueCoors);
+                if (simulatorModel != null) {
+                    ServiceUnit registerUnit = simulatorModel.getServiceUnits()[0];
+                    ServiceUnit generalUnit = simulatorModel.getServiceUnits()[1];
+                    ServiceUnit specialistUnit = simulatorModel.getServiceUnits()[2];
 
+                    //set queue coor in model
+                    // SUqueue [] = [queueX,queueY]
+                    this.registerServiceUnitCoordinate(registerUnit, registerQueueCoors);
+                    this.registerServiceUnitCoordinate(generalUnit, generalQueueCoors);
+                    this.registerServiceUnitCoordinate(specialistUnit, specialistQueueCoors);
 
-                //set SP coor in model
-                // servicePointCoor = [spX1,spY1,spX2,spY2]
-                this.registerServicePointsCoordinate(registerSPs, registerCoors);
-                this.registerServicePointsCoordinate(generalSPs, generalCoors);
-                this.registerServicePointsCoordinate(specialistSPs, specialistCoors);
+
+                    //set SP coor in model
+                    // servicePointCoor = [spX1,spY1,spX2,spY2]
+                    this.registerServicePointsCoordinate(registerUnit.getServicePoints(), registerCoors);
+                    this.registerServicePointsCoordinate(generalUnit.getServicePoints(), generalCoors);
+                    this.registerServicePointsCoordinate(specialistUnit.getServicePoints(), specialistCoors);
+                }
 
             }
         });
@@ -313,12 +396,23 @@ public class SimuViewControl {
             if (simulatorThread != null && simulatorThread.isAlive()) {
                 simulatorThread.interrupt();
             }
-            if (speedMonitorThread != null && speedMonitorThread.isAlive()) {
-                speedMonitorThread.interrupt();
+            if (animationTimer != null) {
+                animationTimer.stop();
             }
+            closeReplayLog();
         });
     }
 
+    /**
+     * Closes the event log being replayed, if any, releasing its mapped records.
+     */
+    private void closeReplayLog() {
+        if (replayLog != null) {
+            replayLog.close();
+            replayLog = null;
+        }
+    }
+
     /**
      * Gets the current stage of the simulation view.
      *
@@ -352,25 +446,42 @@ public class SimuViewControl {
      * @param su the service unit the customer is moving to, or null if exiting
      */
     public void displayBEvent(Customer customer, ServiceUnit su) {
-        String serviceUnitName;
-        double newX, newY;
-
-        int serviceUnitNumber = -1;
-        int customerId = customer.getId();
-
         if (su == null) {
-            serviceUnitName = "exit";
-            newX = exitCoors[0];
-            newY = exitCoors[1];
+            moveToQueue(customer.getId(), customer.getCustomerType(), -1, "exit", exitCoors[0], exitCoors[1]);
+        } else {
+            moveToQueue(customer.getId(), customer.getCustomerType(), su.getIndex(), getSerViceUnitName(su.getIndex()), su.getX(), su.getY());
+        }
+    }
+
+    /**
+     * Displays the view of event of a customer moving to a service unit or exiting, given by ids as recorded in an event log.
+     *
+     * @param customerId the id of the customer involved in the event
+     * @param customerType the type of the customer
+     * @param serviceUnitIndex the index of the service unit the customer is moving to, or -1 if exiting
+     */
+    public void displayBEvent(int customerId, CustomerType customerType, int serviceUnitIndex) {
+        double[] queueCoors = getQueueCoors(serviceUnitIndex);
+        if (queueCoors == null) {
+            moveToQueue(customerId, customerType, -1, "exit", exitCoors[0], exitCoors[1]);
         } else {
-            serviceUnitNumber = su.getIndex();
-            serviceUnitName = getSerViceUnitName(serviceUnitNumber);
-            newX = su.getX();
-            newY = su.getY();
+            moveToQueue(customerId, customerType, serviceUnitIndex, getSerViceUnitName(serviceUnitIndex), queueCoors[0], queueCoors[1]);
         }
+    }
 
+    /**
+     * Updates the customer's position to a queue, or to the exit, and animates the movement.
+     *
+     * @param customerId the id of the customer
+     * @param customerType the type of the customer
+     * @param serviceUnitNumber the index of the service unit, or -1 if exiting
+     * @param serviceUnitName the name of the service unit, or "exit"
+     * @param newX the X coordinate of the queue
+     * @param newY the Y coordinate of the queue
+     */
+    private void moveToQueue(int customerId, CustomerType customerType, int serviceUnitNumber, String serviceUnitName, double newX, double newY) {
         CustomerView customerView = getCustomerInfo(customerId);
-        customerView.setCustomerType(customer.getCustomerType());
+        customerView.setCustomerType(customerType);
 
         customerView.setServiceUnitName(serviceUnitName);
         if (serviceUnitNumber != 0) {
@@ -447,20 +558,64 @@ public class SimuViewControl {
      * @param sp the service point the customer is moving to
      */
     public void displayCEvent(Customer curstomer, ServicePoint sp) {
-        int customerId = curstomer.getId();
-        int servicePointId = sp.getId();
-        CustomerView customerView = getCustomerInfo(customerId);
-        String serviceUnitName = customerView.getServiceUnitName();
+        moveToServicePoint(curstomer.getId(), sp.getX(), sp.getY());
+    }
 
-        double newX = sp.getX();
-        double newY = sp.getY();
+    /**
+     * Displays the view of a event of a customer moving to a service point, given by ids as recorded in an event log.
+     *
+     * @param customerId the id of the customer involved in the event
+     * @param serviceUnitIndex the index of the service unit
+     * @param servicePointIndex the index of the service point in its unit
+     */
+    public void displayCEvent(int customerId, int serviceUnitIndex, int servicePointIndex) {
+        double[] servicePointCoors = serviceUnitIndex == 1 ? registerCoors : serviceUnitIndex == 2 ? generalCoors : specialistCoors;
+        moveToServicePoint(customerId, servicePointCoors[2 * servicePointIndex], servicePointCoors[2 * servicePointIndex + 1]);
+    }
 
+    /**
+     * Updates the customer's position to a service point and animates the movement.
+     *
+     * @param customerId the id of the customer
+     * @param newX the X coordinate of the service point
+     * @param newY the Y coordinate of the service point
+     */
+    private void moveToServicePoint(int customerId, double newX, double newY) {
+        CustomerView customerView = getCustomerInfo(customerId);
 
         // animation
         customerView.setInQueue(false);
         this.animateCirle(customerView, newX, newY);
     }
 
+    /**
+     * Gets the coordinates of the queue of a service unit.
+     *
+     * @param serviceUnitIndex the index of the service unit
+     * @return the coordinates [queueX, queueY], or null if the index is not a service unit
+     */
+    private double[] getQueueCoors(int serviceUnitIndex) {
+        switch (serviceUnitIndex) {
+            case 1:
+                return registerQueueCoors;
+            case 2:
+                return generalQueueCoors;
+            case 3:
+                return specialistQueueCoors;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the delay of one simulation step from the speed slider. Only called on the JavaFX application thread,
+     * by the animation timer.
+     *
+     * @return the delay time in milliseconds
+     */
+    private long getDelayTime() {
+        return (long) speedSlider.getValue();
+    }
+
     /**
      * Animates the movement of a customer's circle to a new position.
      * If the circle does not exist, it creates a new circle and adds it to the root pane.
@@ -482,7 +637,7 @@ public class SimuViewControl {
 
         double curX = customerView.getX();
         double curY = customerView.getY();
-        long delay = controller.getDelayTime();
+        long delay = getDelayTime();
 
         Path path = new Path();
         path.getElements().add(new MoveTo(curX, curY));
@@ -507,4 +662,87 @@ public class SimuViewControl {
         });
         pathTransition.play();
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the changes collected during a frame to the scene: the clock and the queue lengths once,
+     * and one animation for each customer that moved, to its last position.
+     */
+    private void applyFrame() {
+        if (!Double.isNaN(frame.getClock())) {
+            displayClock(frame.getClock());
+        }
+        if (frame.haveQueuesChanged()) {
+            displayQueueLength(registerQueue, frame.getQueueLength(1));
+            displayQueueLength(generalQueue, frame.getQueueLength(2));
+            displayQueueLength(specialistQueue, frame.getQueueLength(3));
+        }
+        for (FrameDelta.Move move : frame.getMoves()) {
+            if (move.servicePointIndex < 0) {
+                displayBEvent(move.customerId, move.customerType, move.serviceUnitIndex);
+            } else {
+                if (move.customerType != null) {        // queued and served in the same frame
+                    getCustomerInfo(move.customerId).setCustomerType(move.customerType);
+                }
+                displayCEvent(move.customerId, move.serviceUnitIndex, move.servicePointIndex);
+            }
+        }
+        frame.clear();
+    }
+
+    /**
+     * Shows the number of customers waiting in a queue on its label.
+     *
+     * @param queueLabel the label of the queue
+     * @param length the number of waiting customers
+     */
+    private void displayQueueLength(Label queueLabel, int length) {
+        queueLabel.setText(String.valueOf(length));
+        queueLabel.setVisible(true);
+    }
+
+    /**
+     * Animates the outcomes of a run step by step: the outcomes of the same simulation time and phase form one step,
+     * and the steps follow each other every half of the delay selected with the speed slider, like the B and C phases of the model.
+     * All the steps due in a frame are collected in the frame delta and applied to the scene together.
+     */
+    private abstract class StepTimer extends AnimationTimer {
+        private static final int MAX_STEPS_PER_FRAME = 10000;
+        private long nextStep;
+
+        /**
+         * Gets the size of the next step.
+         *
+         * @return the number of outcomes of the next step, 0 if it is not complete yet, or -1 once every step is played
+         */
+        abstract int readyStep();
+
+        /**
+         * Displays the outcomes of the next step.
+         *
+         * @param count the number of outcomes of the step
+         */
+        abstract void playStep(int count);
+
+        @Override
+        public void handle(long now) {
+            if (arrivalCoors == null) {
+                return;     // wait for the layout
+            }
+            long stepNanos = getDelayTime() * 1_000_000L / 2;
+            for (int steps = 0; now >= nextStep && steps < MAX_STEPS_PER_FRAME; steps++) {
+                int count = readyStep();
+                if (count < 0) {
+                    stop();
+                    break;
+                }
+                if (count == 0) {
+                    break;  // the model has not got further yet
+                }
+                playStep(count);
+                // steps due during the frame are played in it, but a late step does not make the next ones hurry
+                nextStep = Math.max(nextStep, now - stepNanos) + stepNanos;
+            }
+            applyFrame();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+# Specifications of the generator classes written by MetaGenerator:
+#   java com.simulator.eduni.distributions.MetaGenerator src/main/spec/distributions.spec src/main/java
+# The constants are computed once when the parameters are set; sample is an expression
+# of one uniform sample u, body the statements of sample() using the uniform generator source.
+
+[Geometric]
+kind = discrete
+param = double prob : The probability of success
+check = prob<=0 || prob>=1 : The probability of success must be between 0 and 1
+const = double logFailure = Math.log(1.0-prob)
+sample = (long)Math.ceil(Math.log(u) / logFailure)
+
+[Invgamma]
+param = double scale : The scale of the distribution
+param = double shape : The shape of the distribution
+check = scale<=0 || shape<=0 : The scale and shape parameters must be greater than 0
+const = double d = Distributions.gammaD(shape)
+const = double c = Distributions.gammaC(d)
+body = return 1.0/(scale * distrib.standardGamma(shape, d, c));
+
+[Logistic]
+param = double location : The location of the distribution
+param = double scale : The scale of the distribution
+check = scale<=0 : The scale parameter must be greater than 0
+sample = location - scale*Math.log((1/u)-1)
+
+[Negexp]
+param = double mean : The mean of the distribution
+check = mean<=0 : The mean must be greater than 0
+const = double negMean = -mean
+sample = negMean * Math.log(u)
+
+[Pareto]
+param = double scale : The scale of the distribution
+param = double shape : The shape of the distribution
+check = scale<=0 || shape<=0 : Shape and scale parameters must be greater than 0
+const = double invShape = 1/shape
+# the hand-written class passed its parameters to Distributions.pareto swapped, sampling shape / u^(1/scale)
+sample = scale / Math.pow(u, invShape)
+
+[Pascal]
+kind = discrete
+param = double prob : The probability of success
+param = int successes : The number of successes
+check = prob<=0 || prob>=1 : The probability of success must be between 0 and 1
+check = successes<=0 : The number of successes must be a positive integer
+const = double failureScale = (1.0-prob)/prob
+const = double d = Distributions.gammaD(successes)
+const = double c = Distributions.gammaC(d)
+# the failures are poisson distributed with a gamma distributed mean
+body = return successes + distrib.poisson(failureScale * distrib.standardGamma(successes, d, c));
+
+[Poisson]
+kind = discrete
+param = double mean : The mean of the distribution
+check = mean<=0 : The mean must be greater than 0
+const = double expMean = Math.exp(-mean)
+const = double loglam = Math.log(mean)
+const = double b = 0.931 + 2.53*Math.sqrt(mean)
+const = double a = -0.059 + 0.02483*b
+const = double loginvalpha = Math.log(1.1239 + 1.1328/(b - 3.4))
+const = double vr = 0.9277 - 3.6224/(b - 2.0)
+body = if (mean >= 10.0)
+body =     return distrib.poissonRejection(mean, loglam, b, a, loginvalpha, vr);
+body = long x = -1L;
+body = double product = 1.0;
+body = do {
+body =     x++;
+body =     product *= source.sample();
+body = } while (expMean < product);
+body = return x;
+
+[Tstudent]
+param = long deg_freedom : The degrees of freedom of the distribution
+check = deg_freedom<=0 : The degrees of freedom must be a positive integer
+const = double d = Distributions.gammaD(deg_freedom/2.0)
+const = double c = Distributions.gammaC(d)
+# normal(0,1) / sqrt(chisquare(deg_freedom)/deg_freedom), with chisquare = 2 gamma(1, deg_freedom/2)
+body = return distrib.normal2(0.0, 1.0) / Math.sqrt(2.0*distrib.standardGamma(deg_freedom/2.0, d, c)/deg_freedom);
+
+[Uniform]
+param = double min : The minimum of the distribution
+param = double max : The maximum of the distribution
+check = max<=min : The maximum must be greater than the minimum
+const = double range = max-min
+sample = range * u + min
+
+[Weibull]
+author = F.Mallet. Adaptation of C.Simatos's original
+param = double scale : The scale of the distribution
+param = double shape : The shape of the distribution
+check = scale<=0 || shape<=0 : Scale and shape parameters must be greater than 0
+const = double invShape = 1/shape
+sample = scale * Math.pow(-Math.log(u), invShape)
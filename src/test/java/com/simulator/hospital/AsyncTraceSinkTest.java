@@ -0,0 +1,132 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.framework.AsyncTraceSink;
+import com.simulator.hospital.framework.Trace;
+import com.simulator.hospital.model.logic.CustomerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncTraceSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testMessagesAreWrittenInOrder() throws IOException {
+        Path file = dir.resolve("trace.log");
+        AsyncTraceSink sink = new AsyncTraceSink(file);
+        sink.write(Trace.Level.INFO, 2.5, "Customer %d finished service at service point %d", 7, 3);
+        sink.write(Trace.Level.INFO, 3.0, "Customer %d waiting for %s", 7, 1.25);
+        sink.write(Trace.Level.INFO, 3.0, "Customer %d left", 7);
+        sink.write(Trace.Level.INFO, 3.5, "Clock is at %s", 3.5);
+        sink.write(Trace.Level.INFO, 4.0, "New customer #%d type: %s arrived", 8, CustomerType.GENERAL);
+        sink.write(Trace.Level.ERR, Double.NaN, "100% plain");
+        sink.close();
+
+        assertEquals(List.of("2.5 INFO Customer 7 finished service at service point 3", "3.0 INFO Customer 7 waiting for 1.25",
+                        "3.0 INFO Customer 7 left", "3.5 INFO Clock is at 3.5", "4.0 INFO New customer #8 type: GENERAL arrived", "ERR 100% plain"),
+                Files.readAllLines(file), "Every message should be formatted on its own line");
+        sink.write(Trace.Level.ERR, Double.NaN, "late");
+        assertEquals(1, sink.getDropped(), "A message written after closing should be dropped");
+    }
+
+    @Test
+    void testBlockingKeepsEveryMessageOfConcurrentThreads() throws Exception {
+        Path file = dir.resolve("trace.log");
+        AsyncTraceSink sink = new AsyncTraceSink(file, 16, 1L << 30, 1, AsyncTraceSink.Overflow.BLOCK);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    sink.write(Trace.Level.INFO, i, "Customer %d at %d", i, thread);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sink.close();
+
+        assertEquals(0, sink.getDropped(), "No message should be dropped when blocking");
+        assertEquals(20000, Files.readAllLines(file).size(), "Every message of every thread should be written");
+    }
+
+    @Test
+    void testBlockedThreadsStopWaitingWhenClosed() throws Exception {
+        AsyncTraceSink sink = new AsyncTraceSink(dir.resolve("trace.log"), 2, 1L << 30, 1, AsyncTraceSink.Overflow.BLOCK);
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; !stop.get(); i++) {
+                    sink.write(Trace.Level.INFO, i, "Customer %d is added to queue Register", i);
+                }
+            });
+            threads[t].start();
+        }
+        Thread.sleep(50);
+        sink.close();
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join(5000);
+            assertFalse(thread.isAlive(), "A thread waiting for room should give up once the sink is closed");
+        }
+    }
+
+    @Test
+    void testBadTemplateDoesNotStopTheWriter() throws Exception {
+        Path file = dir.resolve("trace.log");
+        AsyncTraceSink sink = new AsyncTraceSink(file, 2, 1L << 30, 1, AsyncTraceSink.Overflow.BLOCK);
+        Object failing = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("no text");
+            }
+        };
+        Thread thread = new Thread(() -> {
+            sink.write(Trace.Level.INFO, 1.0, "Customer %d at %q", 7);
+            sink.write(Trace.Level.INFO, 2.0, "Customer %d is %s", 7, failing);
+            for (int i = 0; i < 100; i++) {
+                sink.write(Trace.Level.INFO, 3.0, "Customer %d left", i);
+            }
+        });
+        thread.start();
+        thread.join(5000);
+        assertFalse(thread.isAlive(), "A bad message should not leave the writing thread waiting for room");
+        sink.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(102, lines.size(), "Every message should be written, the bad ones as placeholders");
+        assertTrue(lines.get(0).startsWith("1.0 INFO Unformattable message \"Customer %d at %q\""), "The template should be named: " + lines.get(0));
+        assertTrue(lines.get(1).contains("no text"), "The error should be named: " + lines.get(1));
+        assertEquals("3.0 INFO Customer 99 left", lines.get(101), "The writer should go on after a bad message");
+        assertEquals(0, sink.getDropped(), "No message should be dropped");
+    }
+
+    @Test
+    void testFileIsRotated() throws IOException {
+        Path file = dir.resolve("trace.log");
+        AsyncTraceSink sink = new AsyncTraceSink(file, 1024, 1000, 3, AsyncTraceSink.Overflow.BLOCK);
+        for (int i = 0; i < 10000; i++) {
+            sink.write(Trace.Level.INFO, i, "Customer %d is added to queue Register", i);
+        }
+        sink.close();
+
+        assertTrue(Files.exists(dir.resolve("trace.log.1")), "The full file should be renamed");
+        assertTrue(Files.exists(dir.resolve("trace.log.2")), "The older file should be kept");
+        assertFalse(Files.exists(dir.resolve("trace.log.3")), "Only three files should be kept");
+        List<String> last = Files.readAllLines(file);
+        assertEquals("9999.0 INFO Customer 9999 is added to queue Register", last.get(last.size() - 1),
+                "The current file should end with the last message");
+    }
+}
@@ -0,0 +1,71 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Bernoulli;
+import com.simulator.eduni.distributions.ContinuousGenerator;
+import com.simulator.eduni.distributions.DiscreteGenerator;
+import com.simulator.eduni.distributions.Erlang;
+import com.simulator.eduni.distributions.Gamma;
+import com.simulator.eduni.distributions.Geometric;
+import com.simulator.eduni.distributions.LogNormal;
+import com.simulator.eduni.distributions.Logistic;
+import com.simulator.eduni.distributions.Negexp;
+import com.simulator.eduni.distributions.Normal;
+import com.simulator.eduni.distributions.NormalMethod;
+import com.simulator.eduni.distributions.RandomGenerator;
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import com.simulator.eduni.distributions.Uniform;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkSamplingTest {
+    @Test
+    void testContinuousBulkMatchesSingleSamples() {
+        assertSameSamples(RandomGenerator::new);
+        assertSameSamples(SplitMixGenerator::new);
+        assertSameSamples(seed -> new Negexp(5, seed));
+        assertSameSamples(seed -> new Uniform(2, 7, seed));
+        assertSameSamples(seed -> new Normal(10, 6, seed));
+        assertSameSamples(seed -> new LogNormal(1, 0.5, seed));
+        assertSameSamples(seed -> new Erlang(3, 2, seed));
+        assertSameSamples(seed -> new Gamma(2, 2.5, seed));
+        assertSameSamples(seed -> new Logistic(0, 2, seed));
+        assertSameSamples(seed -> {
+            Normal normal = new Normal(10, 6, new SplitMixGenerator(seed));
+            normal.setMethod(NormalMethod.ZIGGURAT);
+            return normal;
+        });
+    }
+
+    @Test
+    void testDiscreteBulkMatchesSingleSamples() {
+        assertSameDiscreteSamples(seed -> new Bernoulli(0.3, seed));
+        assertSameDiscreteSamples(seed -> new Geometric(0.2, seed));
+    }
+
+    private static void assertSameSamples(LongFunction<ContinuousGenerator> factory) {
+        ContinuousGenerator single = factory.apply(4851L);
+        ContinuousGenerator bulk = factory.apply(4851L);
+        double[] samples = new double[1000];
+        bulk.sample(samples, 10, 500);
+        bulk.sample(samples, 510, 490);
+
+        for (int i = 10; i < samples.length; i++) {
+            assertEquals(single.sample(), samples[i], single.getClass().getSimpleName() + " bulk samples should equal single samples");
+        }
+        assertEquals(single.sample(), bulk.sample(), "Bulk sampling should leave the generator in the same state");
+    }
+
+    private static void assertSameDiscreteSamples(LongFunction<DiscreteGenerator> factory) {
+        DiscreteGenerator single = factory.apply(4851L);
+        DiscreteGenerator bulk = factory.apply(4851L);
+        long[] samples = new long[1000];
+        bulk.sample(samples, 0, samples.length);
+
+        for (long sample : samples) {
+            assertEquals(single.sample(), sample, single.getClass().getSimpleName() + " bulk samples should equal single samples");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.framework.CalendarEventList;
+import com.simulator.hospital.framework.Event;
+import com.simulator.hospital.framework.HeapEventList;
+import com.simulator.hospital.framework.IEventList;
+import com.simulator.hospital.model.logic.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarEventListTest {
+
+    @Test
+    void testMatchesHeapWhileGrowingAndShrinking() {
+        CalendarEventList calendar = new CalendarEventList();
+        HeapEventList heap = new HeapEventList();
+        Random random = new Random(4851);
+        double now = 0;
+        int id = 0;
+        // the pending set grows to 20000 events and shrinks back, while the spacing of the events changes
+        // by six orders of magnitude, so the calendar resizes and re-estimates its bucket width many times
+        for (double spacing : new double[]{1, 1e-3, 1e3, 0.5}) {
+            for (int i = 0; i < 20000; i++) {
+                double time = now + random.nextDouble() * spacing * (i % 100 == 0 ? 1000 : 1);
+                add(calendar, heap, time, id++);
+                if (i % 4 == 0) {
+                    now = assertSameNext(calendar, heap);
+                }
+            }
+            for (int i = 0; calendar.size() > 1; i++) {
+                now = assertSameNext(calendar, heap);
+                if (i % 3 == 0) {
+                    add(calendar, heap, now + random.nextDouble() * spacing, id++);
+                }
+            }
+        }
+        assertSameNext(calendar, heap);
+        assertTrue(calendar.isEmpty() && heap.isEmpty(), "Both lists should run out together");
+    }
+
+    @Test
+    void testEarlierAndFarEventsAreFound() {
+        CalendarEventList calendar = new CalendarEventList();
+        HeapEventList heap = new HeapEventList();
+        for (int i = 0; i < 100; i++) {
+            add(calendar, heap, 10 + i * 0.1, i);
+        }
+        assertEquals(10.0, calendar.getNextEventTime(), "The earliest event should be found");
+        // earlier than the minimum already found, and far beyond a whole "year" of buckets
+        add(calendar, heap, 5.0, 100);
+        add(calendar, heap, 1e9, 101);
+        add(calendar, heap, 5.0, 102);
+        assertEquals(5.0, calendar.getNextEventTime(), "An event earlier than the known minimum should come first");
+        while (!heap.isEmpty()) {
+            assertSameNext(calendar, heap);
+        }
+        assertTrue(calendar.isEmpty(), "The far event should be removed last");
+    }
+
+    private static void add(IEventList calendar, IEventList heap, double time, int customerId) {
+        EventType type = EventType.values()[customerId % 4];
+        calendar.add(type, time, customerId, customerId % 7);
+        heap.add(type, time, customerId, customerId % 7);
+    }
+
+    private static double assertSameNext(IEventList calendar, IEventList heap) {
+        assertEquals(heap.getNextEventTime(), calendar.getNextEventTime(), "The next event time should match the heap");
+        Event expected = heap.remove();
+        int customerId = expected.getCustomerId();
+        long sequence = expected.getSequence();
+        Event event = calendar.remove();
+        assertEquals(customerId, event.getCustomerId(), "Events should be removed in the order of the heap");
+        assertEquals(sequence, event.getSequence(), "Simultaneous events should be removed in insertion order");
+        assertEquals(customerId % 7, event.getServicePointIndex(), "The service point should stay with its event");
+        assertEquals(EventType.values()[customerId % 4], event.getType(), "The type should stay with its event");
+        return event.getTime();
+    }
+}
@@ -0,0 +1,52 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import com.simulator.hospital.controller.BatchController;
+import com.simulator.hospital.framework.HeapEventList;
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.framework.Trace;
+import com.simulator.hospital.model.logic.SimulatorModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerTypeTest {
+
+    @BeforeAll
+    static void setUp() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    private static SimulatorModel run(long seed, double specialistProbability) {
+        SimulationContext context = new SimulationContext(new SplitMixGenerator(seed));
+        context.setSpecialistProbability(specialistProbability);
+        SimulatorModel model = new SimulatorModel(1, 2, 2, 4, 2, 4, 5, new HeapEventList(), context);
+        new BatchController(model, 5000).run();
+        return model;
+    }
+
+    @Test
+    void testRunsAreReproducible() {
+        SimulatorModel first = run(4851L, 0.5);
+        SimulatorModel second = run(4851L, 0.5);
+        assertEquals(first.getCustomerCount(), second.getCustomerCount(), "Runs with the same seed should route the same customers");
+        assertEquals(first.getAvgWaitingTime(), second.getAvgWaitingTime(), 0.0, "Runs with the same seed should have the same waiting time");
+    }
+
+    @Test
+    void testSpecialistProbabilityRoutesCustomers() {
+        // service points: 1 register, 2 general, 2 specialist
+        SimulatorModel generalOnly = run(4851L, 0);
+        assertEquals(0, generalOnly.getCustomerCount().get(3) + generalOnly.getCustomerCount().get(4),
+                "No customer should reach the specialist with probability 0");
+
+        SimulatorModel mostlySpecialist = run(4851L, 0.8);
+        int general = mostlySpecialist.getCustomerCount().get(1) + mostlySpecialist.getCustomerCount().get(2);
+        int specialist = mostlySpecialist.getCustomerCount().get(3) + mostlySpecialist.getCustomerCount().get(4);
+        assertEquals(0.8, (double) specialist / (general + specialist), 0.05, "About 80% of the customers should reach the specialist");
+
+        assertThrows(IllegalArgumentException.class, () -> new SimulationContext().setSpecialistProbability(1.5),
+                "A probability above 1 should be rejected");
+    }
+}
@@ -0,0 +1,47 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Binomial;
+import com.simulator.eduni.distributions.DiscreteGenerator;
+import com.simulator.eduni.distributions.Pascal;
+import com.simulator.eduni.distributions.Poisson;
+import org.junit.jupiter.api.Test;
+
+import static com.simulator.hospital.Moments.SAMPLES;
+import static com.simulator.hospital.Moments.assertMoments;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscreteDistributionsTest {
+
+    @Test
+    void testPoissonMoments() {
+        for (double mean : new double[]{3, 10, 50, 500, 1e6}) {
+            assertMoments(new Poisson(mean, 4851L), mean, mean, "Poisson(" + mean + ")");
+        }
+    }
+
+    @Test
+    void testBinomialMoments() {
+        assertMoments(new Binomial(0.3, 20, 4851L), 6, 4.2, "Binomial(0.3, 20)");
+        assertMoments(new Binomial(0.3, 1000, 4851L), 300, 210, "Binomial(0.3, 1000)");
+        assertMoments(new Binomial(0.9, 1000, 4851L), 900, 90, "Binomial(0.9, 1000)");
+        assertMoments(new Binomial(0.001, 1000000, 4851L), 1000, 999, "Binomial(0.001, 1000000)");
+    }
+
+    @Test
+    void testPascalCountsTrials() {
+        // trials up to 5 successes with probability 0.2: mean r/p, variance r(1-p)/p^2
+        assertMoments(new Pascal(0.2, 5, 4851L), 25, 100, "Pascal(0.2, 5)");
+        assertMoments(new Pascal(0.5, 200, 4851L), 400, 400, "Pascal(0.5, 200)");
+    }
+
+    @Test
+    void testSamplesInRange() {
+        DiscreteGenerator binomial = new Binomial(0.5, 100, 4851L);
+        DiscreteGenerator poisson = new Poisson(20, 4851L);
+        for (int i = 0; i < SAMPLES; i++) {
+            long successes = binomial.sample();
+            assertTrue(successes >= 0 && successes <= 100, "Binomial samples should be between 0 and the trials");
+            assertTrue(poisson.sample() >= 0, "Poisson samples should not be negative");
+        }
+    }
+}
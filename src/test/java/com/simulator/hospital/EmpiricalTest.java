@@ -0,0 +1,83 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Empirical;
+import com.simulator.eduni.distributions.EmpiricalDiscrete;
+import com.simulator.eduni.distributions.Negexp;
+import com.simulator.eduni.distributions.ParameterException;
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.simulator.hospital.Moments.SAMPLES;
+import static com.simulator.hospital.Moments.assertMoments;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmpiricalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testReadObservations() throws IOException {
+        Path file = dir.resolve("durations.txt");
+        Files.writeString(file, "# register durations\n4.5 5,6.25;\r\n\n  7  # last\n8");
+        assertArrayEquals(new double[]{4.5, 5, 6.25, 7, 8}, Empirical.read(file), "All observations should be read in order");
+        assertArrayEquals(new long[]{4, 5, 7}, EmpiricalDiscrete.read(Files.writeString(dir.resolve("counts.txt"), "4\n5\n7\n")),
+                "All integer observations should be read in order");
+
+        Path bad = Files.writeString(dir.resolve("bad.txt"), "1\nx\n");
+        assertThrows(ParameterException.class, () -> Empirical.read(bad), "A non-numeric observation should be rejected");
+    }
+
+    @Test
+    void testEmpiricalReproducesData() {
+        double[] observations = new double[200000];
+        new Negexp(5, 1234L).sample(observations, 0, observations.length);
+        Empirical empirical = new Empirical(observations, 4851L);
+        // the data only approximates Negexp(5), hence the wider margins
+        assertMoments(empirical::sample, 5, 0.05 * 5, 25, 0.05 * 25, "The empirical distribution");
+
+        Empirical single = new Empirical(new double[]{3}, 4851L);
+        assertEquals(3, single.sample(), 0.0, "A single observation should always be sampled");
+        assertEquals(1, single.getCount(), "A single observation should be counted once");
+        assertEquals(observations.length, new Empirical(empirical, new SplitMixGenerator(7)).getCount(),
+                "A generator sharing the data should count the same observations");
+    }
+
+    @Test
+    void testSharedDataUsesOwnSource() {
+        Empirical data = new Empirical(new double[]{1, 2, 3, 4}, 4851L);
+        Empirical first = new Empirical(data, new SplitMixGenerator(7));
+        Empirical second = new Empirical(data, new SplitMixGenerator(7));
+        double[] bulk = new double[50];
+        second.sample(bulk, 0, bulk.length);
+        for (double value : bulk) {
+            assertEquals(first.sample(), value, 0.0, "Generators sharing data with equal sources should agree");
+            assertTrue(value >= 1 && value <= 4, "Samples should stay within the observed range");
+        }
+    }
+
+    @Test
+    void testAliasTableFrequencies() {
+        long[] observations = new long[1000];
+        for (int i = 0; i < observations.length; i++) {
+            observations[i] = i < 500 ? 1 : i < 800 ? 2 : i < 990 ? 10 : -3;
+        }
+        EmpiricalDiscrete empirical = new EmpiricalDiscrete(observations, 4851L);
+        assertEquals(4, empirical.getCount(), "There should be one column per distinct value");
+
+        long[] samples = new long[SAMPLES];
+        empirical.sample(samples, 0, samples.length);
+        int[] counts = new int[4];
+        for (long sample : samples) {
+            counts[sample == 1 ? 0 : sample == 2 ? 1 : sample == 10 ? 2 : 3]++;
+        }
+        double[] expected = {0.5, 0.3, 0.19, 0.01};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], (double) counts[i] / SAMPLES, 0.005, "Value " + i + " should be drawn with its observed frequency");
+        }
+    }
+}
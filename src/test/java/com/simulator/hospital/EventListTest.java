@@ -0,0 +1,136 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.framework.Event;
+import com.simulator.hospital.framework.EventListType;
+import com.simulator.hospital.framework.IEventList;
+import com.simulator.hospital.framework.TimeBase;
+import com.simulator.hospital.model.logic.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventListTest {
+    @Test
+    void testRemoveInTimeOrder() {
+        for (EventListType listType : EventListType.values()) {
+            IEventList eventList = listType.create();
+            Random random = new Random(42);
+            double[] times = new double[1000];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = random.nextDouble() * 500;
+                eventList.add(EventType.values()[i % 4], times[i]);
+            }
+            Arrays.sort(times);
+
+            assertEquals(times.length, eventList.size(), listType + ": all events should be scheduled");
+            for (double time : times) {
+                assertEquals(time, eventList.getNextEventTime(), listType + ": the next event time should be the earliest");
+                assertEquals(time, eventList.remove().getTime(), listType + ": events should be removed in time order");
+            }
+            assertTrue(eventList.isEmpty(), listType + ": the event list should be empty after removing every event");
+        }
+    }
+
+    @Test
+    void testInterleavedAddAndRemove() {
+        for (EventListType listType : EventListType.values()) {
+            IEventList eventList = listType.create();
+            Random random = new Random(7);
+            double now = 0;
+            eventList.add(EventType.ARR1, 1.0);
+            for (int i = 0; i < 10000; i++) {
+                double next = eventList.remove().getTime();
+                assertTrue(next >= now, listType + ": time should never go backwards");
+                now = next;
+                eventList.add(EventType.DEP1, now + random.nextDouble() * 10);
+                if (i % 3 == 0) {
+                    eventList.add(EventType.DEP2, now + random.nextDouble() * 100);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSimultaneousEventsAreFifo() {
+        for (EventListType listType : EventListType.values()) {
+            IEventList eventList = listType.create();
+            for (int i = 0; i < 100; i++) {
+                eventList.add(EventType.values()[i % 4], 5.0);
+                eventList.add(EventType.ARR1, 1.0 + i);
+            }
+            long previous = -1;
+            while (!eventList.isEmpty()) {
+                if (eventList.getNextEventTime() == 5.0) {
+                    long sequence = eventList.remove().getSequence();
+                    assertTrue(sequence > previous, listType + ": simultaneous events should be removed in insertion order");
+                    previous = sequence;
+                } else {
+                    eventList.remove();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTickTimeBase() {
+        for (EventListType listType : EventListType.values()) {
+            IEventList eventList = listType.create(TimeBase.ticks(100));
+            eventList.add(EventType.DEP1, 2.004);
+            eventList.add(EventType.DEP2, 1.996);
+
+            assertEquals(2.0, eventList.getNextEventTime(), listType + ": times should be rounded to the nearest tick");
+            assertEquals(EventType.DEP1, eventList.remove().getType(), listType + ": events rounded to the same tick should be FIFO");
+            assertEquals(EventType.DEP2, eventList.remove().getType(), listType + ": events rounded to the same tick should be FIFO");
+        }
+    }
+
+    @Test
+    void testContinuousKeysKeepOrder() {
+        double[] times = {-3.5, -0.25, 0.0, 1e-300, 0.5, 1.0, 12345.678, 1e300};
+        for (int i = 1; i < times.length; i++) {
+            assertTrue(TimeBase.CONTINUOUS.toKey(times[i - 1]) < TimeBase.CONTINUOUS.toKey(times[i]), "Keys should sort like the times");
+            assertEquals(times[i], TimeBase.CONTINUOUS.toTime(TimeBase.CONTINUOUS.toKey(times[i])), "Continuous keys should keep the exact time");
+        }
+    }
+
+    @Test
+    void testEventTypeIsKept() {
+        for (EventListType listType : EventListType.values()) {
+            IEventList eventList = listType.create();
+            eventList.add(EventType.DEP3, 3.0);
+            eventList.add(EventType.ARR1, 1.0);
+            eventList.add(EventType.DEP2, 2.0);
+
+            assertEquals(EventType.ARR1, eventList.remove().getType(), listType + ": the type of the earliest event should be returned");
+            assertEquals(EventType.DEP2, eventList.remove().getType(), listType + ": the type of the earliest event should be returned");
+            assertEquals(EventType.DEP3, eventList.remove().getType(), listType + ": the type of the earliest event should be returned");
+        }
+    }
+
+    @Test
+    void testCustomerAndServicePointAreKept() {
+        for (EventListType listType : EventListType.values()) {
+            IEventList eventList = listType.create();
+            Random random = new Random(11);
+            for (int i = 0; i < 500; i++) {
+                eventList.add(EventType.DEP1, random.nextDouble() * 100, 1000 + i, i % 37);
+            }
+            eventList.add(new Event(EventType.DEP2, 200.0, 7, 3));
+            eventList.add(EventType.ARR1, 300.0);
+
+            while (eventList.size() > 2) {
+                Event event = eventList.remove();
+                assertEquals((event.getCustomerId() - 1000) % 37, event.getServicePointIndex(), listType + ": the customer and service point should stay together");
+            }
+            Event event = eventList.remove();
+            assertEquals(7, event.getCustomerId(), listType + ": the customer of an added Event should be kept");
+            assertEquals(3, event.getServicePointIndex(), listType + ": the service point of an added Event should be kept");
+            event = eventList.remove();
+            assertEquals(Event.NONE, event.getCustomerId(), listType + ": an event without a customer should have none");
+            assertEquals(Event.NONE, event.getServicePointIndex(), listType + ": an event without a service point should have none");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.controller.BatchController;
+import com.simulator.hospital.model.logic.EventLogReader;
+import com.simulator.hospital.model.logic.EventLogRecorder;
+import com.simulator.hospital.model.logic.SimulatorModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testReplayMatchesRecordedRun() throws IOException {
+        Path file = dir.resolve("run.log");
+        SimulatorModel model = RecordedOutcomes.createModel();
+        List<String> live = new ArrayList<>();
+        EventLogRecorder recorder = new EventLogRecorder(file, model, RecordedOutcomes.listener(model, live));
+        model.setListener(recorder);
+        new BatchController(model, 2000).run();
+        recorder.close();
+
+        EventLogReader log = new EventLogReader(file);
+        assertEquals(live.size(), log.size(), "Every outcome should be recorded");
+        assertEquals(2, log.getServicePointCount(2), "The unit sizes should be recorded");
+        List<String> replayed = new ArrayList<>();
+        log.replay(0, log.size(), RecordedOutcomes.handler(replayed));
+        assertEquals(live, replayed, "The replay should reproduce the run in order");
+
+        int middle = log.seek(1000);
+        assertTrue(log.getTime(middle) >= 1000 && log.getTime(middle - 1) < 1000, "Seeking should find the first record at the time");
+    }
+
+    @Test
+    void testOtherFilesAreRejected() throws IOException {
+        Path file = Files.write(dir.resolve("other.log"), new byte[64]);
+        assertThrows(IOException.class, () -> new EventLogReader(file), "A file without the log header should be rejected");
+    }
+}
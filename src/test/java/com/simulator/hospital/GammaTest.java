@@ -0,0 +1,40 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Beta;
+import com.simulator.eduni.distributions.BetaPrime;
+import com.simulator.eduni.distributions.ChiSquare;
+import com.simulator.eduni.distributions.Erlang;
+import com.simulator.eduni.distributions.Gamma;
+import com.simulator.eduni.distributions.Invgamma;
+import org.junit.jupiter.api.Test;
+
+import static com.simulator.hospital.Moments.assertMoments;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GammaTest {
+
+    @Test
+    void testGammaMoments() {
+        for (double shape : new double[]{0.3, 1, 2.5, 50}) {
+            assertMoments(new Gamma(2, shape, 4851L), 2 * shape, 4 * shape, "Gamma(2, " + shape + ")");
+        }
+    }
+
+    @Test
+    void testErlangUsesShapeAndScale() {
+        // Erlang(shape, scale): the sum of 3 exponentials of mean 2
+        assertMoments(new Erlang(3, 2, 4851L), 6, 12, "Erlang(3, 2)");
+        assertMoments(new Erlang(200, 0.5, 4851L), 100, 50, "Erlang(200, 0.5)");
+    }
+
+    @Test
+    void testGammaBasedDistributions() {
+        assertMoments(new ChiSquare(4, 4851L), 4, 8, "ChiSquare(4)");
+        assertMoments(new Beta(2, 3, 4851L), 0.4, 0.04, "Beta(2, 3)");
+        assertMoments(new Beta(0.5, 0.5, 4851L), 0.5, 0.125, "Beta(0.5, 0.5)");
+        // mean a/(b-1), variance a(a+b-1)/((b-2)(b-1)^2)
+        assertMoments(new BetaPrime(2, 6, 4851L), 0.4, 0.14, "BetaPrime(2, 6)");
+        // inverse gamma of rate 1/scale: mean 1/(scale(shape-1)), variance 1/(scale^2 (shape-1)^2 (shape-2))
+        assertMoments(new Invgamma(0.5, 5, 4851L), 0.5, 1.0 / 12, "Invgamma(0.5, 5)");
+    }
+}
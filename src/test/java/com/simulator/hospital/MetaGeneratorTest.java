@@ -0,0 +1,67 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Distributions;
+import com.simulator.eduni.distributions.Geometric;
+import com.simulator.eduni.distributions.Invgamma;
+import com.simulator.eduni.distributions.Logistic;
+import com.simulator.eduni.distributions.MetaGenerator;
+import com.simulator.eduni.distributions.Negexp;
+import com.simulator.eduni.distributions.Pareto;
+import com.simulator.eduni.distributions.Pascal;
+import com.simulator.eduni.distributions.Poisson;
+import com.simulator.eduni.distributions.Tstudent;
+import com.simulator.eduni.distributions.Uniform;
+import com.simulator.eduni.distributions.Weibull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.simulator.hospital.Moments.assertMoments;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetaGeneratorTest {
+    private static final Path SPEC = Path.of("src/main/spec/distributions.spec");
+    private static final Path SOURCES = Path.of("src/main/java/com/simulator/eduni/distributions");
+
+    @Test
+    void testGeneratedClassesAreUpToDate(@TempDir Path dir) throws IOException {
+        List<Path> files = MetaGenerator.generate(SPEC, dir);
+
+        assertFalse(files.isEmpty(), "The specification should describe generator classes");
+        for (Path file : files) {
+            assertEquals(Files.readString(SOURCES.resolve(file.getFileName())), Files.readString(file),
+                    file.getFileName() + " should be regenerated after changing the specification");
+        }
+    }
+
+    @Test
+    void testGeneratedMoments() {
+        assertMoments(new Geometric(0.25, 4851L), 4, 12, "Geometric(0.25)");
+        assertMoments(new Invgamma(0.5, 5, 4851L), 0.5, 1.0 / 12, "Invgamma(0.5, 5)");
+        assertMoments(new Logistic(2, 1.5, 4851L), 2, 2.25 * Math.PI * Math.PI / 3, "Logistic(2, 1.5)");
+        assertMoments(new Negexp(5, 4851L), 5, 25, "Negexp(5)");
+        // mean scale * shape / (shape - 1), variance scale^2 * shape / ((shape - 1)^2 (shape - 2))
+        assertMoments(new Pareto(2, 10, 4851L), 20.0 / 9, 40.0 / 648, "Pareto(2, 10)");
+        assertMoments(new Pascal(0.2, 5, 4851L), 25, 100, "Pascal(0.2, 5)");
+        assertMoments(new Poisson(20, 4851L), 20, 20, "Poisson(20)");
+        assertMoments(new Tstudent(10, 4851L), 0, 1.25, "Tstudent(10)");
+        assertMoments(new Uniform(2, 6, 4851L), 4, 16.0 / 12, "Uniform(2, 6)");
+        // mean scale * Gamma(1 + 1/shape) and variance scale^2 * (Gamma(1 + 2/shape) - Gamma(1 + 1/shape)^2): Gamma(1.5) = sqrt(pi)/2
+        assertMoments(new Weibull(2, 2, 4851L), Math.sqrt(Math.PI), 4 - Math.PI, "Weibull(2, 2)");
+    }
+
+    @Test
+    void testDistributionsWeibullMatchesGenerator() {
+        Distributions distributions = new Distributions(4851L);
+        Weibull weibull = new Weibull(2, 1.5, 4851L);
+        for (int i = 0; i < 1000; i++) {
+            double sample = distributions.weibull(2, 1.5);
+            assertTrue(sample >= 0, "Weibull samples should not be negative or NaN");
+            assertEquals(weibull.sample(), sample, 0.0, "Both Weibull methods should give the same samples for the same seed");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.controller.BatchController;
+import com.simulator.hospital.framework.HeapEventList;
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.framework.Trace;
+import com.simulator.hospital.model.logic.Customer;
+import com.simulator.hospital.model.logic.ModelListener;
+import com.simulator.hospital.model.logic.ServicePoint;
+import com.simulator.hospital.model.logic.ServiceUnit;
+import com.simulator.hospital.model.logic.SimulatorModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelListenerTest {
+
+    @BeforeAll
+    static void setUp() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    @Test
+    void testListenerReceivesEveryOutcome() {
+        SimulationContext context = new SimulationContext();
+        SimulatorModel model = new SimulatorModel(1, 2, 2, 4, 2, 4, 5, new HeapEventList(), context);
+        int[] moves = new int[4];      // arrivals, moves to the general unit, moves to the specialist unit, exits
+        int[] services = {0};
+        model.setListener(new ModelListener() {
+            @Override
+            public void customerMoved(Customer customer, ServiceUnit serviceUnit) {
+                moves[serviceUnit == null ? 3 : serviceUnit.getIndex() - 1]++;
+            }
+
+            @Override
+            public void serviceStarted(Customer customer, ServicePoint servicePoint) {
+                assertSame(customer, servicePoint.getCurrentCustomer(), "The customer should be at the reported service point");
+                services[0]++;
+            }
+        });
+        new BatchController(model, 5000).run();
+
+        assertEquals(context.getServedCustomerCount(), moves[3], "Every customer leaving the system should be reported");
+        int served = model.getCustomerCount().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(served, services[0], "Every started service should be reported");
+        assertTrue(moves[0] >= moves[1] + moves[2], "Customers should be reported arriving before moving on");
+    }
+}
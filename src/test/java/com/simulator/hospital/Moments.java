@@ -0,0 +1,41 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.ContinuousGenerator;
+import com.simulator.eduni.distributions.DiscreteGenerator;
+import com.simulator.hospital.framework.SummaryStatistics;
+
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the mean and the variance of a generator against the distribution it should sample.
+ */
+final class Moments {
+
+    /**
+     * The number of samples of a check, enough to find the variance within a few percent.
+     */
+    static final int SAMPLES = 400000;
+
+    private Moments() {
+    }
+
+    static void assertMoments(ContinuousGenerator generator, double mean, double variance, String name) {
+        assertMoments(generator::sample, mean, 0.01 * Math.max(1, mean), variance, 0.03 * variance, name);
+    }
+
+    static void assertMoments(DiscreteGenerator generator, double mean, double variance, String name) {
+        // integer samples of a small mean need a wider margin
+        assertMoments(generator::sample, mean, 0.005 * Math.max(10, mean), variance, 0.03 * variance, name);
+    }
+
+    static void assertMoments(DoubleSupplier generator, double mean, double meanDelta, double variance, double varianceDelta, String name) {
+        SummaryStatistics statistics = new SummaryStatistics();
+        for (int i = 0; i < SAMPLES; i++) {
+            statistics.add(generator.getAsDouble());
+        }
+        assertEquals(mean, statistics.getMean(), meanDelta, name + " should have the expected mean");
+        assertEquals(variance, statistics.getVariance(), varianceDelta, name + " should have the expected variance");
+    }
+}
@@ -0,0 +1,63 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.LogNormal;
+import com.simulator.eduni.distributions.Normal;
+import com.simulator.eduni.distributions.NormalMethod;
+import com.simulator.eduni.distributions.RandomGenerator;
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import com.simulator.hospital.framework.SummaryStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NormalMethodTest {
+    @Test
+    void testBoxMullerIsDefault() {
+        Normal normal = new Normal(10, 4, 4851L);
+        RandomGenerator source = new RandomGenerator(4851L);
+
+        assertEquals(NormalMethod.BOX_MULLER, normal.getMethod(), "Box-Muller should stay the default method");
+        for (int i = 0; i < 100; i++) {
+            double u1 = source.sample(), u2 = source.sample();
+            double expected = 10 + 2 * Math.cos(2 * Math.PI * u1) * Math.sqrt(-2 * Math.log(u2));
+            assertEquals(expected, normal.sample(), "The default method should give the original samples");
+        }
+    }
+
+    @Test
+    void testMoments() {
+        for (NormalMethod method : NormalMethod.values()) {
+            Normal normal = new Normal(5, 9, new SplitMixGenerator(4851L));
+            normal.setMethod(method);
+            SummaryStatistics statistics = new SummaryStatistics();
+            int beyondTwoSigma = 0;
+            int beyondFourSigma = 0;
+            int n = 1000000;
+            for (int i = 0; i < n; i++) {
+                double sample = normal.sample();
+                statistics.add(sample);
+                double z = Math.abs(sample - 5) / 3;
+                if (z > 2) beyondTwoSigma++;
+                if (z > 4) beyondFourSigma++;
+            }
+
+            assertEquals(5, statistics.getMean(), 0.01, method + " should have the given mean");
+            assertEquals(9, statistics.getVariance(), 0.05, method + " should have the given variance");
+            assertEquals(0.0455, (double) beyondTwoSigma / n, 0.001, method + " should have normal tails");
+            assertEquals(63, beyondFourSigma, 30, method + " should reach the far tail");
+        }
+    }
+
+    @Test
+    void testLogNormalUsesMethod() {
+        LogNormal lognormal = new LogNormal(0, 1, new SplitMixGenerator(4851L));
+        lognormal.setMethod(NormalMethod.ZIGGURAT);
+        SummaryStatistics statistics = new SummaryStatistics();
+        for (int i = 0; i < 1000000; i++) {
+            statistics.add(Math.log(lognormal.sample()));
+        }
+
+        assertEquals(0, statistics.getMean(), 0.01, "The log of lognormal samples should have mean 0");
+        assertEquals(1, statistics.getVariance(), 0.01, "The log of lognormal samples should have variance 1");
+    }
+}
@@ -0,0 +1,50 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.controller.BatchController;
+import com.simulator.hospital.model.logic.EventLogReader;
+import com.simulator.hospital.model.logic.OutcomeQueue;
+import com.simulator.hospital.model.logic.SimulatorModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutcomeQueueTest {
+
+    @Test
+    void testConsumerSeesEveryOutcomeInOrder() throws InterruptedException {
+        SimulatorModel expectedModel = RecordedOutcomes.createModel();
+        List<String> expected = new ArrayList<>();
+        expectedModel.setListener(RecordedOutcomes.listener(expectedModel, expected));
+        new BatchController(expectedModel, 2000).run();
+
+        // a small queue makes the model wait for the consumer many times
+        SimulatorModel model = RecordedOutcomes.createModel();
+        OutcomeQueue outcomes = new OutcomeQueue(model, 8);
+        model.setListener(outcomes);
+        Thread producer = new Thread(() -> {
+            new BatchController(model, 2000).run();
+            outcomes.close();
+        });
+        producer.start();
+
+        List<String> consumed = new ArrayList<>();
+        EventLogReader.Handler handler = RecordedOutcomes.handler(consumed);
+        while (true) {
+            boolean closed = outcomes.isClosed();
+            int available = outcomes.available();
+            assertTrue(available <= 8, "The queue should hold at most its capacity");
+            if (available > 0) {
+                outcomes.replay(available, handler);
+            } else if (closed) {
+                break;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        producer.join();
+        assertEquals(expected, consumed, "The consumer should see the outcomes of the run in order");
+    }
+}
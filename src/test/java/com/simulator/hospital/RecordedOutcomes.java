@@ -0,0 +1,85 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import com.simulator.hospital.framework.HeapEventList;
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.model.logic.Customer;
+import com.simulator.hospital.model.logic.CustomerType;
+import com.simulator.hospital.model.logic.EventLogReader;
+import com.simulator.hospital.model.logic.ModelListener;
+import com.simulator.hospital.model.logic.ServicePoint;
+import com.simulator.hospital.model.logic.ServiceUnit;
+import com.simulator.hospital.model.logic.SimulatorModel;
+
+import java.util.List;
+
+/**
+ * Shared fixture of the tests of the model outcomes: a seeded model, and the outcomes of a run, live or replayed,
+ * recorded as comparable lines.
+ */
+public final class RecordedOutcomes {
+
+    private RecordedOutcomes() {
+    }
+
+    /**
+     * @return a model with two general and two specialist service points and a fixed seed
+     */
+    public static SimulatorModel createModel() {
+        return new SimulatorModel(1, 2, 2, 4, 2, 4, 5, new HeapEventList(), new SimulationContext(new SplitMixGenerator(4851L)));
+    }
+
+    /**
+     * Records the outcomes of a live run.
+     *
+     * @param model the model whose outcomes are recorded
+     * @param lines the list the outcomes are added to
+     * @return the listener to set on the model
+     */
+    public static ModelListener listener(SimulatorModel model, List<String> lines) {
+        return new ModelListener() {
+            @Override
+            public void customerMoved(Customer customer, ServiceUnit serviceUnit) {
+                lines.add(moved(model.getClock().getClock(), customer.getId(), customer.getCustomerType(), serviceUnit == null ? -1 : serviceUnit.getIndex()));
+            }
+
+            @Override
+            public void serviceStarted(Customer customer, ServicePoint servicePoint) {
+                for (ServiceUnit unit : model.getServiceUnits()) {
+                    int point = unit.getServicePoints().indexOf(servicePoint);
+                    if (point >= 0) {
+                        lines.add(served(model.getClock().getClock(), customer.getId(), unit.getIndex(), point));
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Records replayed outcomes, in the same form as {@link #listener(SimulatorModel, List)}.
+     *
+     * @param lines the list the outcomes are added to
+     * @return the handler to replay to
+     */
+    public static EventLogReader.Handler handler(List<String> lines) {
+        return new EventLogReader.Handler() {
+            @Override
+            public void customerMoved(double time, int customerId, CustomerType customerType, int serviceUnitIndex) {
+                lines.add(moved(time, customerId, customerType, serviceUnitIndex));
+            }
+
+            @Override
+            public void serviceStarted(double time, int customerId, int serviceUnitIndex, int servicePointIndex) {
+                lines.add(served(time, customerId, serviceUnitIndex, servicePointIndex));
+            }
+        };
+    }
+
+    private static String moved(double time, int customerId, CustomerType customerType, int serviceUnitIndex) {
+        return "B " + time + " " + customerId + " " + customerType + " " + serviceUnitIndex;
+    }
+
+    private static String served(double time, int customerId, int serviceUnitIndex, int servicePointIndex) {
+        return "C " + time + " " + customerId + " " + serviceUnitIndex + " " + servicePointIndex;
+    }
+}
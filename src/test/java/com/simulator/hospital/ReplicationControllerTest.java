@@ -0,0 +1,77 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.controller.ReplicationController;
+import com.simulator.hospital.framework.HeapEventList;
+import com.simulator.hospital.framework.SummaryStatistics;
+import com.simulator.hospital.framework.Trace;
+import com.simulator.hospital.model.logic.SimulatorModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationControllerTest {
+    private static final int REPLICATIONS = 8;
+
+    @BeforeAll
+    static void setUp() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    private static ReplicationController run(int parallelism, boolean splittable, List<SimulatorModel> models) {
+        ReplicationController controller = new ReplicationController(context -> {
+            SimulatorModel model = new SimulatorModel(1, 2, 2, 4, 2, 4, 5, new HeapEventList(), context);
+            models.add(model);
+            return model;
+        }, 2000, REPLICATIONS, 4851L);
+        controller.setParallelism(parallelism);
+        controller.setSplittable(splittable);
+        controller.run();
+        return controller;
+    }
+
+    private static void assertSameStatistics(SummaryStatistics expected, SummaryStatistics actual, String message) {
+        assertEquals(expected.getMean(), actual.getMean(), 0.0, message);
+        assertEquals(expected.getVariance(), actual.getVariance(), 0.0, message);
+    }
+
+    @Test
+    void testParallelismDoesNotChangeResults() {
+        for (boolean splittable : new boolean[]{false, true}) {
+            ReplicationController sequential = run(1, splittable, Collections.synchronizedList(new ArrayList<>()));
+            ReplicationController parallel = run(4, splittable, Collections.synchronizedList(new ArrayList<>()));
+
+            assertSameStatistics(sequential.getAvgWaitingTime(), parallel.getAvgWaitingTime(),
+                    "The waiting time should not depend on the parallelism");
+            assertEquals(sequential.getCustomerCount().size(), parallel.getCustomerCount().size(), "Every service point should be reported");
+            for (int i = 0; i < sequential.getCustomerCount().size(); i++) {
+                assertSameStatistics(sequential.getCustomerCount().get(i), parallel.getCustomerCount().get(i),
+                        "The customers of point " + (i + 1) + " should not depend on the parallelism");
+                assertSameStatistics(sequential.getUtilization().get(i), parallel.getUtilization().get(i),
+                        "The utilization of point " + (i + 1) + " should not depend on the parallelism");
+            }
+        }
+    }
+
+    @Test
+    void testReplicationsUseDistinctStreams() {
+        for (boolean splittable : new boolean[]{false, true}) {
+            List<SimulatorModel> models = Collections.synchronizedList(new ArrayList<>());
+            ReplicationController controller = run(4, splittable, models);
+
+            assertEquals(REPLICATIONS, models.size(), "Every replication should create its own model");
+            HashSet<Double> waitingTimes = new HashSet<>();
+            for (SimulatorModel model : models) {
+                waitingTimes.add(model.getAvgWaitingTime());
+            }
+            assertEquals(REPLICATIONS, waitingTimes.size(), "Every replication should draw different random numbers");
+            assertEquals(REPLICATIONS, controller.getAvgWaitingTime().getCount(), "Every replication should be aggregated");
+            assertTrue(controller.getAvgWaitingTime().getVariance() > 0, "Independent replications should vary");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.RandomGenerator;
+import com.simulator.eduni.distributions.SeedGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeedGeneratorTest {
+    @Test
+    void testSkipMatchesStepping() {
+        RandomGenerator stepped = new RandomGenerator(4851L);
+        RandomGenerator skipped = new RandomGenerator(4851L);
+        for (int i = 0; i < 12345; i++) {
+            stepped.nextLong();
+        }
+        skipped.skip(12345);
+
+        assertEquals(stepped.nextLong(), skipped.nextLong(), "Skipping n steps should give the state after n calls");
+    }
+
+    @Test
+    void testSeedsAreSpacedBySpacing() {
+        SeedGenerator seeds = new SeedGenerator(4851L, 1000);
+        RandomGenerator source = new RandomGenerator(4851L);
+
+        assertEquals(4851L, seeds.sample(), "The first seed should be the root seed");
+        for (int n = 0; n < 5; n++) {
+            long expected = 0;
+            for (int i = 0; i < 1000; i++) {
+                expected = source.nextLong();
+            }
+            assertEquals(expected, seeds.sample(), "Each seed should be spacing steps after the previous one");
+        }
+    }
+
+    @Test
+    void testLargeSpacing() {
+        // The full cycle of the generator brings it back to the same state
+        RandomGenerator generator = new RandomGenerator(4851L);
+        generator.skip(2147483646L);
+        assertEquals(new RandomGenerator(4851L).nextLong(), generator.nextLong(), "The cycle length should be 2^31-2");
+
+        // seed * a^spacing mod m, with the multiplier and modulus of RandomGenerator
+        BigInteger m = BigInteger.valueOf(2147483647L);
+        long expected = BigInteger.valueOf(742938285L).modPow(BigInteger.valueOf(1_000_000_000_000L), m)
+                .multiply(BigInteger.valueOf(4851L)).mod(m).longValueExact();
+        SeedGenerator seeds = new SeedGenerator(4851L, 1_000_000_000_000L);
+        assertEquals(4851L, seeds.sample(), "The first seed should be the root seed");
+        long jumped = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> { return seeds.sample(); },
+                "Seeds far apart should be produced without stepping through the spacing");
+        assertEquals(expected, jumped, "The second seed should be spacing steps after the root seed");
+    }
+}
@@ -0,0 +1,118 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Uniform;
+import com.simulator.hospital.framework.Event;
+import com.simulator.hospital.framework.HeapEventList;
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.framework.Trace;
+import com.simulator.hospital.model.logic.Customer;
+import com.simulator.hospital.model.logic.CustomerType;
+import com.simulator.hospital.model.logic.EventType;
+import com.simulator.hospital.model.logic.ServerSelection;
+import com.simulator.hospital.model.logic.ServicePoint;
+import com.simulator.hospital.model.logic.ServiceUnit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceUnitTest {
+    private static final int SERVERS = 300;
+
+    @BeforeAll
+    static void setUp() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    @Test
+    void testDepartureEndsServiceOfItsOwnCustomer() {
+        SimulationContext context = new SimulationContext();
+        HeapEventList eventList = new HeapEventList();
+        ServiceUnit unit = new ServiceUnit(new Uniform(1, 100, 4851L), eventList, EventType.DEP1, SERVERS, context);
+
+        Map<Integer, ServicePoint> assigned = new HashMap<>();
+        for (int i = 0; i < SERVERS; i++) {
+            unit.addQueue(new Customer(context, CustomerType.GENERAL));
+            ServicePoint servicePoint = unit.beginService();
+            assigned.put(servicePoint.getCurrentCustomer().getId(), servicePoint);
+        }
+        assertTrue(unit.isReserved(), "Every service point should be busy");
+
+        // service times are random, so departures come in a different order than service started
+        while (!eventList.isEmpty()) {
+            Event departure = eventList.remove();
+            ServicePoint servicePoint = unit.getServicePoints().get(departure.getServicePointIndex());
+            assertSame(assigned.get(departure.getCustomerId()), servicePoint, "The event should name the customer's service point");
+            Customer customer = unit.endService(departure.getServicePointIndex());
+            assertEquals(departure.getCustomerId(), customer.getId(), "The customer of the departure event should leave");
+            assertTrue(servicePoint.isAvailable(), "The service point should be free after the departure");
+        }
+    }
+
+    @Test
+    void testFirstFreeSelectsLowestIdleIndex() {
+        SimulationContext context = new SimulationContext();
+        HeapEventList eventList = new HeapEventList();
+        ServiceUnit unit = new ServiceUnit(new Uniform(1, 100, 4851L), eventList, EventType.DEP1, SERVERS, context);
+        for (int i = 0; i < 3; i++) {
+            unit.addQueue(new Customer(context, CustomerType.GENERAL));
+            assertSame(unit.getServicePoints().get(i), unit.beginService(), "Service points should be filled from the first one");
+        }
+        unit.endService(1);
+        unit.addQueue(new Customer(context, CustomerType.GENERAL));
+        assertSame(unit.getServicePoints().get(1), unit.beginService(), "The freed service point with the lowest index should be reused");
+    }
+
+    @Test
+    void testLeastBusySelectsLeastServiceTime() {
+        SimulationContext context = new SimulationContext();
+        HeapEventList eventList = new HeapEventList();
+        ServiceUnit unit = new ServiceUnit(new Uniform(1, 100, 4851L), eventList, EventType.DEP1, 4, context);
+        unit.setServerSelection(ServerSelection.LEAST_BUSY);
+        for (int i = 0; i < 4; i++) {
+            unit.addQueue(new Customer(context, CustomerType.GENERAL));
+            unit.beginService();
+        }
+        for (int i = 0; i < 4; i++) {
+            unit.endService(i);
+        }
+        ServicePoint leastBusy = unit.getServicePoints().get(0);
+        for (ServicePoint servicePoint : unit.getServicePoints()) {
+            if (servicePoint.getTotalServiceTime() < leastBusy.getTotalServiceTime()) {
+                leastBusy = servicePoint;
+            }
+        }
+        unit.addQueue(new Customer(context, CustomerType.GENERAL));
+        assertSame(leastBusy, unit.beginService(), "The idle service point with the least service time should be selected");
+    }
+
+    @Test
+    void testRandomSelectionUsesEveryServicePoint() {
+        SimulationContext context = new SimulationContext();
+        HeapEventList eventList = new HeapEventList();
+        ServiceUnit unit = new ServiceUnit(new Uniform(1, 100, 4851L), eventList, EventType.DEP1, 10, context);
+        unit.setServerSelection(ServerSelection.RANDOM);
+        for (int i = 0; i < 2000; i++) {
+            unit.addQueue(new Customer(context, CustomerType.GENERAL));
+            unit.beginService();
+            Event departure = eventList.remove();
+            unit.endService(departure.getServicePointIndex());
+        }
+        for (ServicePoint servicePoint : unit.getServicePoints()) {
+            assertEquals(200, servicePoint.getTotalCustomer(), 60, "Every service point should serve about a tenth of the customers");
+        }
+
+        // a full unit still hands out each service point exactly once
+        for (int i = 0; i < 10; i++) {
+            unit.addQueue(new Customer(context, CustomerType.GENERAL));
+            unit.beginService();
+        }
+        assertTrue(unit.isReserved(), "Every service point should be busy");
+        for (ServicePoint servicePoint : unit.getServicePoints()) {
+            assertFalse(servicePoint.isAvailable(), "No service point should have been selected twice");
+        }
+    }
+}
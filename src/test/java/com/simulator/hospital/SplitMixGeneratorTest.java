@@ -0,0 +1,53 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Negexp;
+import com.simulator.eduni.distributions.SplitMixGenerator;
+import com.simulator.hospital.framework.SimulationContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitMixGeneratorTest {
+    @Test
+    void testMatchesSplittableRandom() {
+        SplitMixGenerator generator = new SplitMixGenerator(4851L);
+        SplittableRandom reference = new SplittableRandom(4851L);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(reference.nextLong(), generator.nextLong(), "The stream should be the SplitMix64 sequence");
+        }
+
+        SplitMixGenerator child = generator.split();
+        SplittableRandom referenceChild = reference.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(referenceChild.nextLong(), child.nextLong(), "A split stream should match SplittableRandom.split()");
+        }
+    }
+
+    @Test
+    void testSamplesInOpenUnitInterval() {
+        SplitMixGenerator generator = new SplitMixGenerator(4851L);
+        double sum = 0;
+        int n = 100000;
+        for (int i = 0; i < n; i++) {
+            double sample = generator.sample();
+            assertTrue(sample > 0 && sample < 1, "Samples should be in (0, 1)");
+            sum += sample;
+        }
+        assertEquals(0.5, sum / n, 0.01, "Samples should be uniformly distributed");
+    }
+
+    @Test
+    void testContextSplitsReproducibleStreams() {
+        SimulationContext first = new SimulationContext(new SplitMixGenerator(4851L));
+        SimulationContext second = new SimulationContext(new SplitMixGenerator(4851L));
+        Negexp a = new Negexp(5, first.nextStream(0));
+        Negexp b = new Negexp(5, second.nextStream(0));
+        Negexp c = new Negexp(5, first.nextStream(0));
+
+        double sampleA = a.sample();
+        assertEquals(sampleA, b.sample(), "Contexts with the same seed should give the same streams");
+        assertNotEquals(sampleA, c.sample(), "Streams split from the same context should differ");
+    }
+}
@@ -0,0 +1,41 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.framework.SummaryStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryStatisticsTest {
+    @Test
+    void testMeanAndVariance() {
+        SummaryStatistics statistics = new SummaryStatistics();
+        for (double value : new double[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            statistics.add(value);
+        }
+
+        assertEquals(8, statistics.getCount(), "Every observation should be counted");
+        assertEquals(5.0, statistics.getMean(), 1e-12, "The mean should be the average of the observations");
+        assertEquals(32.0 / 7, statistics.getVariance(), 1e-12, "The variance should be the unbiased sample variance");
+    }
+
+    @Test
+    void testStudentQuantile() {
+        assertEquals(12.7062, SummaryStatistics.studentQuantile(0.975, 1), 1e-4, "t(0.975, 1) should match the table value");
+        assertEquals(4.3027, SummaryStatistics.studentQuantile(0.975, 2), 1e-4, "t(0.975, 2) should match the table value");
+        assertEquals(3.1824, SummaryStatistics.studentQuantile(0.975, 3), 1e-3, "t(0.975, 3) should match the table value");
+        assertEquals(2.2281, SummaryStatistics.studentQuantile(0.975, 10), 1e-3, "t(0.975, 10) should match the table value");
+        assertEquals(2.0423, SummaryStatistics.studentQuantile(0.975, 30), 1e-3, "t(0.975, 30) should match the table value");
+        assertEquals(2.6259, SummaryStatistics.studentQuantile(0.995, 100), 1e-3, "t(0.995, 100) should match the table value");
+    }
+
+    @Test
+    void testConfidenceInterval() {
+        SummaryStatistics statistics = new SummaryStatistics();
+        statistics.add(1);
+        assertTrue(Double.isNaN(statistics.getHalfWidth(0.95)), "One observation should give no confidence interval");
+
+        statistics.add(3);
+        assertEquals(12.7062, statistics.getHalfWidth(0.95), 1e-4, "The half width should be t * s / sqrt(n)");
+        assertEquals(2 - 12.7062, statistics.getLowerBound(0.95), 1e-4, "The interval should be centred on the mean");
+    }
+}
@@ -0,0 +1,94 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.controller.SweepController;
+import com.simulator.hospital.framework.HeapEventList;
+import com.simulator.hospital.framework.SimulationContext;
+import com.simulator.hospital.model.logic.SimulatorModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SweepControllerTest {
+
+    private static double[] values(String value) {
+        Properties settings = new Properties();
+        settings.setProperty("General", value);
+        return HeadlessMain.getValues(settings, "General");
+    }
+
+    private static SimulatorModel createModel(double[] p, SimulationContext context) {
+        return new SimulatorModel((int) p[0], p[1], (int) p[2], p[3], (int) p[4], p[5], p[6], new HeapEventList(), context);
+    }
+
+    private static double[][] grid(double[] register, double[] general) {
+        return new double[][]{register, {2}, general, {4}, {1}, {4}, {5}};
+    }
+
+    @Test
+    void testParseValues() {
+        assertArrayEquals(new double[]{3}, values("3"), "A single number should be one value");
+        assertArrayEquals(new double[]{1, 2, 4}, values(" 1, 2 ,4 "), "A list should give its values in order");
+        assertArrayEquals(new double[]{1, 2, 3}, values("1:3"), "A range should step by 1 by default");
+        assertArrayEquals(new double[]{3, 3.5, 4, 4.5, 5, 5.5, 6}, values("3:6:0.5"), "A range should include its maximum");
+        assertThrows(IllegalArgumentException.class, () -> values("3:1"), "A decreasing range should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> values("1:3:0"), "A zero step should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> values("1,x"), "A non-numeric value should be rejected");
+    }
+
+    @Test
+    void testCellsCoverTheGrid() {
+        SweepController controller = new SweepController(grid(new double[]{1, 2}, new double[]{1, 2, 3}), 100, SweepControllerTest::createModel, System.out);
+        assertEquals(6, controller.getCellCount(), "The grid should have one cell per combination");
+        HashSet<String> combinations = new HashSet<>();
+        for (int cell = 0; cell < controller.getCellCount(); cell++) {
+            double[] parameters = controller.getCell(cell);
+            combinations.add(parameters[0] + "/" + parameters[2]);
+        }
+        assertEquals(6, combinations.size(), "Every cell should decode to a different combination");
+        assertArrayEquals(new double[]{2, 2, 3, 4, 1, 4, 5}, controller.getCell(5), "The last parameter should vary fastest");
+    }
+
+    @Test
+    void testFractionalServicePointsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SweepController(grid(new double[]{1, 1.5, 2}, new double[]{1}), 100, SweepControllerTest::createModel, System.out),
+                "A fractional number of service points should be rejected");
+        assertThrows(IllegalArgumentException.class,
+                () -> new SweepController(grid(new double[]{1}, new double[]{0, 1}), 100, SweepControllerTest::createModel, System.out),
+                "A unit without service points should be rejected");
+    }
+
+    @Test
+    void testCsvHasOneLinePerCell() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SweepController controller = new SweepController(grid(new double[]{1, 2}, new double[]{1, 2}), 500, SweepControllerTest::createModel,
+                new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        controller.setParallelism(2);
+        controller.run();
+
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\\R");
+        assertEquals("cell,Register,RegisterTime,General,GeneralTime,Specialist,SpecialistTime,ArrivalTime,"
+                + "avgWaitingTime,avgWaitingTimeHalfWidth,servedCustomers,registerUtilization,generalUtilization,specialistUtilization",
+                lines[0], "The CSV should start with its header");
+        assertEquals(5, lines.length, "There should be one line per cell");
+        HashSet<Integer> cells = new HashSet<>();
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",", -1);
+            assertEquals(14, fields.length, "Every line should have a value per column");
+            int cell = Integer.parseInt(fields[0]);
+            cells.add(cell);
+            double[] parameters = controller.getCell(cell);
+            assertEquals(parameters[0], Double.parseDouble(fields[1]), 0.0, "The line should report the registers of its cell");
+            assertEquals(parameters[2], Double.parseDouble(fields[3]), 0.0, "The line should report the general points of its cell");
+            assertEquals("", fields[9], "A single replication should have no confidence interval");
+            assertTrue(Double.parseDouble(fields[10]) > 0, "Customers should have been served");
+        }
+        assertEquals(4, cells.size(), "Every cell should be reported once");
+    }
+}
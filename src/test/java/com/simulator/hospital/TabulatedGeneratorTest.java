@@ -0,0 +1,45 @@
+package com.simulator.hospital;
+
+import com.simulator.eduni.distributions.Normal;
+import com.simulator.eduni.distributions.ParameterException;
+import com.simulator.eduni.distributions.TabulatedGenerator;
+import org.junit.jupiter.api.Test;
+
+import static com.simulator.hospital.Moments.assertMoments;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabulatedGeneratorTest {
+
+    @Test
+    void testTableFromCdf() {
+        // exponential of mean 5 truncated at 100, where the missing mass is negligible
+        TabulatedGenerator generator = new TabulatedGenerator(x -> 1 - Math.exp(-x / 5), 0, 100, 1e-5, 4851L);
+        assertMoments(generator, 5, 25, "Tabulated exponential");
+    }
+
+    @Test
+    void testTableFromGenerator() {
+        TabulatedGenerator generator = new TabulatedGenerator(new Normal(10, 4, 1234L), 1000000, 1e-4, 4851L);
+        assertMoments(generator, 10, 4, "Tabulated Normal(10, 4)");
+    }
+
+    @Test
+    void testAccuracyControlsTableSize() {
+        TabulatedGenerator coarse = new TabulatedGenerator(x -> 1 - Math.exp(-x), 0, 20, 1e-3, 4851L);
+        TabulatedGenerator fine = new TabulatedGenerator(x -> 1 - Math.exp(-x), 0, 20, 1e-6, 4851L);
+        assertTrue(fine.getIntervals() > coarse.getIntervals(), "A tighter accuracy should need more intervals");
+        assertThrows(ParameterException.class, () -> new TabulatedGenerator(x -> x, 0, 1, 0, 4851L),
+                "The accuracy should be positive");
+    }
+
+    @Test
+    void testBulkMatchesSingleSamples() {
+        TabulatedGenerator single = new TabulatedGenerator(x -> x * x, 0, 1, 1e-6, 4851L);
+        TabulatedGenerator bulk = new TabulatedGenerator(x -> x * x, 0, 1, 1e-6, 4851L);
+        double[] out = new double[100];
+        bulk.sample(out, 0, out.length);
+        for (double value : out) {
+            assertEquals(single.sample(), value, 0.0, "Bulk samples should equal single samples");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.simulator.hospital;
+
+import com.simulator.hospital.framework.Trace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceTest {
+
+    @AfterEach
+    void tearDown() {
+        Trace.setTraceLevel(Trace.Level.ERR);
+    }
+
+    @Test
+    void testDefaultLevelOnlyOutputsErrors() {
+        assertEquals(Trace.Level.ERR, Trace.getTraceLevel(), "Only errors should be traced by default");
+        assertTrue(Trace.isEnabled(Trace.Level.ERR), "Errors should be enabled by default");
+        assertFalse(Trace.isEnabled(Trace.Level.INFO), "Info messages should be disabled by default");
+    }
+
+    @Test
+    void testMessageIsOnlyBuiltWhenEnabled() {
+        Trace.setTraceLevel(Trace.Level.WAR);
+        int[] calls = new int[1];
+        Trace.out(Trace.Level.INFO, () -> "info " + ++calls[0]);
+        assertEquals(0, calls[0], "The supplier of a disabled level should not be called");
+        Trace.out(Trace.Level.WAR, () -> "warning " + ++calls[0]);
+        assertEquals(1, calls[0], "The supplier of an enabled level should be called once");
+    }
+}
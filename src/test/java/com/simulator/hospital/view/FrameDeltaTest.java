@@ -0,0 +1,104 @@
+package com.simulator.hospital.view;
+
+import com.simulator.hospital.RecordedOutcomes;
+import com.simulator.hospital.controller.BatchController;
+import com.simulator.hospital.model.logic.CustomerType;
+import com.simulator.hospital.model.logic.EventLogReader;
+import com.simulator.hospital.model.logic.EventLogRecorder;
+import com.simulator.hospital.model.logic.ModelListener;
+import com.simulator.hospital.model.logic.SimulatorModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameDeltaTest {
+
+    private static final int FRAME = 50;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFrameKeepsLastMoveOfEveryCustomer() throws IOException {
+        Path file = dir.resolve("run.log");
+        SimulatorModel model = RecordedOutcomes.createModel();
+        EventLogRecorder recorder = new EventLogRecorder(file, model, ModelListener.NONE);
+        model.setListener(recorder);
+        new BatchController(model, 2000).run();
+        recorder.close();
+
+        try (EventLogReader log = new EventLogReader(file)) {
+            FrameDelta delta = new FrameDelta();
+            int[] queueLengths = new int[4];
+            int merged = 0;
+            for (int from = 0; from < log.size(); from += FRAME) {
+                int to = Math.min(from + FRAME, log.size());
+                // the expected frame, from the outcomes one by one
+                LinkedHashMap<Integer, String> expected = new LinkedHashMap<>();
+                List<String> outcomes = new ArrayList<>();
+                log.replay(from, to, RecordedOutcomes.handler(outcomes));
+                for (String outcome : outcomes) {
+                    String[] fields = outcome.split(" ");
+                    int id = Integer.parseInt(fields[2]);
+                    String previous = expected.get(id);
+                    if (fields[0].equals("B")) {
+                        int unit = Integer.parseInt(fields[4]);
+                        if (unit > 0) {
+                            queueLengths[unit]++;
+                        }
+                        expected.put(id, id + " " + fields[3] + " " + unit + " -1");
+                    } else {
+                        int unit = Integer.parseInt(fields[3]);
+                        queueLengths[unit]--;
+                        String type = previous == null ? "null" : previous.split(" ")[1];
+                        expected.put(id, id + " " + type + " " + unit + " " + fields[4]);
+                    }
+                }
+                merged += outcomes.size() - expected.size();
+
+                delta.clear();
+                log.replay(from, to, delta);
+                List<String> moves = new ArrayList<>();
+                for (FrameDelta.Move move : delta.getMoves()) {
+                    moves.add(move.customerId + " " + move.customerType + " " + move.serviceUnitIndex + " " + move.servicePointIndex);
+                }
+                assertEquals(new ArrayList<>(expected.values()), moves, "A frame should hold the last move of every customer, in the order they first moved");
+                assertEquals(log.getTime(to - 1), delta.getClock(), "The clock should be the time of the last outcome of the frame");
+                for (int unit = 1; unit < queueLengths.length; unit++) {
+                    assertEquals(queueLengths[unit], delta.getQueueLength(unit), "The queue lengths should be kept from frame to frame");
+                }
+            }
+            assertTrue(merged > 0, "Some customers should move more than once in a frame");
+        }
+    }
+
+    @Test
+    void testReplayFromMiddleHasNoNegativeQueues() throws IOException {
+        Path file = dir.resolve("run.log");
+        SimulatorModel model = RecordedOutcomes.createModel();
+        EventLogRecorder recorder = new EventLogRecorder(file, model, ModelListener.NONE);
+        model.setListener(recorder);
+        new BatchController(model, 2000).run();
+        recorder.close();
+
+        try (EventLogReader log = new EventLogReader(file)) {
+            FrameDelta delta = new FrameDelta();
+            for (int from = log.seek(1000); from < log.size(); from += FRAME) {
+                delta.clear();
+                assertFalse(delta.haveQueuesChanged(), "A new frame should start without changes");
+                assertTrue(Double.isNaN(delta.getClock()), "A new frame should start without a clock");
+                log.replay(from, Math.min(from + FRAME, log.size()), delta);
+                for (int unit = 1; unit < 4; unit++) {
+                    assertTrue(delta.getQueueLength(unit) >= 0, "A queue should never be shorter than empty");
+                }
+            }
+        }
+    }
+}